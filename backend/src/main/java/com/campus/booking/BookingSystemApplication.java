@@ -2,10 +2,10 @@ package com.campus.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableAsync
+@EnableScheduling
 public class BookingSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(BookingSystemApplication.class, args);
@@ -0,0 +1,160 @@
+package com.campus.booking.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * PostgreSQL-specific DDL that {@code ddl-auto=update} cannot express.
+ * Runs once Hibernate has created/updated the tables and before the web
+ * server accepts requests, so no write can see the schema half-migrated;
+ * every statement is idempotent so it is safe on each start-up. Indexes and search triggers are
+ * best-effort, but the booking overlap constraint and the id sequence
+ * realignment are required: if either fails (e.g. existing overlapping rows,
+ * or btree_gist unavailable) the application fails to start rather than
+ * accept double bookings or hand out ids that are already taken.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaInitializer {
+
+    /** Name of the exclusion constraint that forbids overlapping active bookings. */
+    public static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void initialize() {
+        // Required by the overlap constraint below; both fail start-up if they cannot be created
+        require("CREATE EXTENSION IF NOT EXISTS btree_gist");
+
+        // bookings.id moved from IDENTITY to a pooled sequence; ids below existing rows would collide
+        require("""
+                SELECT setval('bookings_seq', (SELECT MAX(id) FROM bookings))
+                WHERE (SELECT MAX(id) FROM bookings) > (SELECT last_value FROM bookings_seq)
+                """);
+
+        // Non-overlap of confirmed/pending bookings per facility, enforced by the database
+        addConstraintIfMissing("bookings", BOOKING_OVERLAP_CONSTRAINT, """
+                EXCLUDE USING gist (
+                    facility_id WITH =,
+                    tsrange(date + start_time, date + end_time, '[)') WITH &&
+                ) WHERE (status IN ('confirmed', 'pending'))
+                """);
+
+        facilitySearch();
+        userSearch();
+    }
+
+    /**
+     * Facility search: a weighted tsvector over name, type, location,
+     * amenities and description, kept current by triggers on both
+     * {@code facilities} and {@code facility_amenities} so every write path
+     * (including the seeder) maintains it; a GIN index on it, and a trigram
+     * index on the name for typo-tolerant and partial-word matches.
+     */
+    private void facilitySearch() {
+        execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        execute("ALTER TABLE facilities ADD COLUMN IF NOT EXISTS search_vector tsvector");
+
+        execute("""
+                CREATE OR REPLACE FUNCTION facility_search_vector(
+                    f_id bigint, f_name text, f_type text, f_location text, f_description text)
+                RETURNS tsvector LANGUAGE sql STABLE AS $$
+                    SELECT setweight(to_tsvector('english', coalesce(f_name, '')), 'A')
+                        || setweight(to_tsvector('english', coalesce(f_type, '')), 'B')
+                        || setweight(to_tsvector('english', coalesce(f_location, '')), 'B')
+                        || setweight(to_tsvector('english', coalesce(
+                               (SELECT string_agg(amenity, ' ') FROM facility_amenities WHERE facility_id = f_id), '')), 'B')
+                        || setweight(to_tsvector('english', coalesce(f_description, '')), 'C')
+                $$
+                """);
+        execute("""
+                CREATE OR REPLACE FUNCTION facilities_search_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+                BEGIN
+                    NEW.search_vector := facility_search_vector(
+                        NEW.id, NEW.name, NEW.facility_type, NEW.location, NEW.description);
+                    RETURN NEW;
+                END
+                $$
+                """);
+        execute("""
+                CREATE OR REPLACE FUNCTION facility_amenities_search_trigger() RETURNS trigger LANGUAGE plpgsql AS $$
+                BEGIN
+                    UPDATE facilities SET search_vector = facility_search_vector(id, name, facility_type, location, description)
+                    WHERE id = CASE WHEN TG_OP = 'DELETE' THEN OLD.facility_id ELSE NEW.facility_id END;
+                    RETURN NULL;
+                END
+                $$
+                """);
+        execute("DROP TRIGGER IF EXISTS facilities_search ON facilities");
+        execute("""
+                CREATE TRIGGER facilities_search BEFORE INSERT OR UPDATE ON facilities
+                FOR EACH ROW EXECUTE FUNCTION facilities_search_trigger()
+                """);
+        execute("DROP TRIGGER IF EXISTS facility_amenities_search ON facility_amenities");
+        execute("""
+                CREATE TRIGGER facility_amenities_search AFTER INSERT OR UPDATE OR DELETE ON facility_amenities
+                FOR EACH ROW EXECUTE FUNCTION facility_amenities_search_trigger()
+                """);
+
+        // Backfill rows written before the trigger existed
+        execute("""
+                UPDATE facilities SET search_vector = facility_search_vector(id, name, facility_type, location, description)
+                WHERE search_vector IS NULL
+                """);
+
+        execute("CREATE INDEX IF NOT EXISTS idx_facilities_search ON facilities USING gin (search_vector)");
+        execute("CREATE INDEX IF NOT EXISTS idx_facilities_name_trgm ON facilities USING gin (name gin_trgm_ops)");
+    }
+
+    /**
+     * User directory search matches {@code lower(column)} with LIKE: trigram
+     * indexes serve substring patterns, and text_pattern_ops btrees serve the
+     * prefix patterns used for one- and two-character terms.
+     */
+    private void userSearch() {
+        execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        // Every searched column needs both, or the OR across columns falls back to a sequential scan
+        for (String column : new String[] {"name", "email", "student_id", "department"}) {
+            execute("CREATE INDEX IF NOT EXISTS idx_users_" + column + "_trgm ON users USING gin (lower("
+                    + column + ") gin_trgm_ops)");
+            execute("CREATE INDEX IF NOT EXISTS idx_users_" + column + "_prefix ON users (lower("
+                    + column + ") text_pattern_ops)");
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private void addConstraintIfMissing(String table, String name, String definition) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_constraint WHERE conname = ?", Integer.class, name);
+        if (existing != null && existing > 0) return;
+
+        require("ALTER TABLE " + table + " ADD CONSTRAINT " + name + " " + definition);
+    }
+
+    /** Like {@link #execute} but fails start-up instead of continuing without the statement. */
+    private void require(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            throw new IllegalStateException(
+                    "Required schema statement failed: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Schema statement failed, continuing without it: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package com.campus.booking.controller;
 
 import com.campus.booking.dto.request.LoginRequest;
+import com.campus.booking.dto.request.RefreshTokenRequest;
 import com.campus.booking.dto.request.RegisterRequest;
 import com.campus.booking.dto.request.UpdateProfileRequest;
+import com.campus.booking.dto.request.UpdateUserAccessRequest;
 import com.campus.booking.dto.response.AuthResponse;
-import com.campus.booking.dto.response.UserResponse;
 import com.campus.booking.entity.User;
+import com.campus.booking.exception.BadRequestException;
 import com.campus.booking.service.AuthService;
+import com.campus.booking.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 @RestController
@@ -24,6 +31,7 @@ import java.util.Map;
 public class AuthController {
 
     private final AuthService authService;
+    private final UserImportService userImportService;
 
     @PostMapping("/register")
     public ResponseEntity<Map<String, Object>> register(
@@ -33,8 +41,26 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequest req) {
-        return ResponseEntity.ok(Map.of("data", authService.login(req)));
+    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequest req,
+                                                     HttpServletRequest request) {
+        return ResponseEntity.ok(Map.of("data", authService.login(req, request.getRemoteAddr())));
+    }
+
+    /** Exchanges a refresh token for a new access/refresh pair; the old one is spent. */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+        return ResponseEntity.ok(Map.of("data", authService.refresh(req.getRefreshToken())));
+    }
+
+    /** Revokes the presented access token and, if given, the refresh token's session. */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestBody(required = false) RefreshTokenRequest req,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7) : null;
+        authService.logout(accessToken, req != null ? req.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/me")
@@ -49,9 +75,48 @@ public class AuthController {
         return ResponseEntity.ok(Map.of("data", authService.updateProfile(user.getId(), req)));
     }
 
+    /**
+     * GET /api/auth/users — admin: paged, filterable user directory.
+     * {@code sort} is name | email | created_at; pass {@code nextCursor}
+     * back as {@code cursor} for the next page.
+     */
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        return ResponseEntity.ok(authService.getAllUsers());
+    public ResponseEntity<Map<String, Object>> getUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(authService.getUsers(search, role, active, sort, direction, cursor, limit));
+    }
+
+    /**
+     * POST /api/auth/users/import — admin: create accounts from a CSV file
+     * (multipart field {@code file}). Returns one result per data row.
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> importUsers(@RequestParam("file") MultipartFile file)
+            throws IOException {
+        if (file.isEmpty()) throw new BadRequestException("The file is empty");
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importCsv(in));
+        }
+    }
+
+    /**
+     * PATCH /api/auth/users/{id} — admin: change role and/or deactivate.
+     * Takes effect on the user's next request.
+     */
+    @PatchMapping("/users/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> updateAccess(
+            @PathVariable Long id,
+            @RequestBody UpdateUserAccessRequest req,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("data", authService.updateAccess(id, req, user)));
     }
 }
@@ -28,6 +28,18 @@ public class AvailabilityController {
         return ResponseEntity.ok(Map.of("data", availabilityService.getSlots(facilityId, date, startTime, endTime)));
     }
 
+    /**
+     * GET /api/availability/matrix?date=2026-03-01&start_time=09:00&end_time=18:00
+     * Every active facility's slot grid for one date.
+     */
+    @GetMapping("/matrix")
+    public ResponseEntity<Map<String, Object>> getMatrix(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "start_time", required = false) String startTime,
+            @RequestParam(value = "end_time",   required = false) String endTime) {
+        return ResponseEntity.ok(Map.of("data", availabilityService.getMatrix(date, startTime, endTime)));
+    }
+
     /**
      * GET /api/availability/week?facility_id=1&start_date=2026-03-01
      */
@@ -38,4 +50,18 @@ public class AvailabilityController {
             LocalDate startDate) {
         return ResponseEntity.ok(Map.of("data", availabilityService.getWeekly(facilityId, startDate)));
     }
+
+    /**
+     * GET /api/availability/range?facility_id=1&start_date=2026-03-01&end_date=2026-05-29
+     * Spans of up to 90 days.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<Map<String, Object>> getRange(
+            @RequestParam("facility_id") Long facilityId,
+            @RequestParam("start_date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate startDate,
+            @RequestParam("end_date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate endDate) {
+        return ResponseEntity.ok(Map.of("data", availabilityService.getRange(facilityId, startDate, endDate)));
+    }
 }
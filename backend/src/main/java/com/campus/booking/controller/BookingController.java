@@ -1,17 +1,31 @@
 package com.campus.booking.controller;
 
 import com.campus.booking.dto.request.BookingRequest;
+import com.campus.booking.dto.request.BookingSeriesRequest;
+import com.campus.booking.dto.request.BulkStatusRequest;
 import com.campus.booking.dto.request.UpdateBookingRequest;
 import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.dto.response.BookingSeriesResponse;
+import com.campus.booking.entity.Booking;
 import com.campus.booking.entity.User;
+import com.campus.booking.service.BookingExportService;
+import com.campus.booking.service.BookingSequencer;
 import com.campus.booking.service.BookingService;
+import com.campus.booking.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -20,10 +34,57 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingSequencer bookingSequencer;
+    private final IdempotencyService idempotencyService;
+    private final BookingExportService bookingExportService;
 
+    /**
+     * GET /api/bookings?facility_id=3&status=pending&from=2026-03-01&to=2026-03-31&limit=50
+     * Newest first; pass the returned nextCursor as {@code cursor} for the next page.
+     * {@code user_id} is honoured for admins only.
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAll(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(bookingService.getAll(user));
+    public ResponseEntity<Map<String, Object>> getAll(
+            @AuthenticationPrincipal User user,
+            @RequestParam(value = "facility_id", required = false) Long facilityId,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "user_id",     required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookingService.getAll(user, facilityId, status, userId, from, to, cursor, limit));
+    }
+
+    /**
+     * GET /api/bookings/export?format=csv|ndjson — every booking matching the
+     * list filters, streamed as it is read. Admin only.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(value = "facility_id", required = false) Long facilityId,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "user_id",     required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        BookingExportService.Format fmt = BookingExportService.Format.from(format);
+        Specification<Booking> filter = bookingExportService.filter(facilityId, status, userId, from, to);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fmt.contentType))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings-" + LocalDate.now() + "." + fmt.extension + "\"")
+                .body(out -> bookingExportService.write(filter, fmt, out));
+    }
+
+    /**
+     * GET /api/bookings/stats — the caller's counters (global for admins).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("stats", bookingService.getStats(user)));
     }
 
     @GetMapping("/{id}")
@@ -33,11 +94,44 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getById(id, user));
     }
 
+    /**
+     * POST /api/bookings — an optional Idempotency-Key header makes retries
+     * replay the original response instead of booking again.
+     */
     @PostMapping
     public ResponseEntity<BookingResponse> create(
             @Valid @RequestBody BookingRequest req,
+            @AuthenticationPrincipal User user,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookingSequencer.create(req, user));
+        }
+
+        IdempotencyService.Result result = idempotencyService.execute(
+                user.getId(), idempotencyKey, idempotencyService.fingerprint(req),
+                onCreated -> bookingSequencer.create(req, user, onCreated));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(result.response());
+    }
+
+    /**
+     * POST /api/bookings/series — weekly/daily recurring booking, all occurrences or none.
+     */
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesResponse> createSeries(
+            @Valid @RequestBody BookingSeriesRequest req,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.create(req, user));
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingService.createSeries(req, user));
+    }
+
+    /**
+     * POST /api/bookings/bulk-status — admin approve/reject of many bookings at once.
+     */
+    @PostMapping("/bulk-status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> bulkStatus(@Valid @RequestBody BulkStatusRequest req) {
+        return ResponseEntity.ok(Map.of("data", bookingService.bulkUpdateStatus(req)));
     }
 
     @PutMapping("/{id}")
@@ -45,7 +139,7 @@ public class BookingController {
             @PathVariable Long id,
             @RequestBody UpdateBookingRequest req,
             @AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(bookingService.update(id, req, user));
+        return ResponseEntity.ok(bookingSequencer.update(id, req, user));
     }
 
     @DeleteMapping("/{id}")
@@ -5,13 +5,18 @@ import com.campus.booking.dto.response.FacilityResponse;
 import com.campus.booking.service.FacilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/facilities")
@@ -20,18 +25,48 @@ public class FacilityController {
 
     private final FacilityService facilityService;
 
+    /**
+     * GET /api/facilities?amenities=Projector,Whiteboard — served from the
+     * in-memory catalogue; amenities must all be present. The ETag is
+     * checked before any search runs, so a matching If-None-Match gets a
+     * 304 without touching the search index.
+     */
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAll(
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Integer minCapacity,
-            @RequestParam(required = false) Integer maxCapacity) {
-        return ResponseEntity.ok(Map.of("data", facilityService.getAll(type, search, minCapacity, maxCapacity)));
+            @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam(required = false) List<String> amenities,
+            WebRequest request) {
+        String etag = facilityService.etag("list", type, search != null ? search.trim() : null,
+                minCapacity, maxCapacity, amenities != null ? amenities.stream().sorted().toList() : null);
+        return conditional(request, etag, () -> Map.of("data",
+                facilityService.getAll(type, search, minCapacity, maxCapacity, amenities)));
+    }
+
+    /**
+     * GET /api/facilities/available?date=2026-03-01&startTime=09:00&endTime=11:00
+     *     &minCapacity=20&amenities=Projector,Whiteboard
+     * Facilities free for the whole window, best capacity fit first.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<Map<String, Object>> findFree(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) Integer maxCapacity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String startTime,
+            @RequestParam String endTime,
+            @RequestParam(required = false) List<String> amenities) {
+        return ResponseEntity.ok(Map.of("data", facilityService.findFree(
+                type, minCapacity, maxCapacity, date, startTime, endTime, amenities)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(Map.of("data", facilityService.getById(id)));
+    public ResponseEntity<Map<String, Object>> getById(@PathVariable Long id, WebRequest request) {
+        return conditional(request, facilityService.etag("id", id),
+                () -> Map.of("data", facilityService.getById(id)));
     }
 
     @PostMapping
@@ -54,4 +89,18 @@ public class FacilityController {
         facilityService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    /**
+     * 304 with no body when the client already has this catalogue version
+     * for the same request; otherwise builds the body.
+     */
+    private static ResponseEntity<Map<String, Object>> conditional(WebRequest request, String etag,
+                                                                   Supplier<Map<String, Object>> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body.get());
+    }
 }
@@ -0,0 +1,38 @@
+package com.campus.booking.controller;
+
+import com.campus.booking.dto.request.HoldRequest;
+import com.campus.booking.dto.response.HoldResponse;
+import com.campus.booking.entity.User;
+import com.campus.booking.service.SlotHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final SlotHoldService slotHoldService;
+
+    /**
+     * POST /api/holds — reserve a range for a few minutes while the booking form is open.
+     */
+    @PostMapping
+    public ResponseEntity<HoldResponse> place(
+            @Valid @RequestBody HoldRequest req,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(slotHoldService.place(req, user));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> release(
+            @PathVariable String id,
+            @AuthenticationPrincipal User user) {
+        slotHoldService.release(id, user);
+        return ResponseEntity.noContent().build();
+    }
+}
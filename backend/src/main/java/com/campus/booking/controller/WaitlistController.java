@@ -0,0 +1,51 @@
+package com.campus.booking.controller;
+
+import com.campus.booking.dto.request.WaitlistRequest;
+import com.campus.booking.dto.response.WaitlistResponse;
+import com.campus.booking.entity.User;
+import com.campus.booking.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * POST /api/waitlist — queue for a booked range; promoted to a booking
+     * automatically when it frees up.
+     */
+    @PostMapping
+    public ResponseEntity<WaitlistResponse> join(
+            @Valid @RequestBody WaitlistRequest req,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(req, user));
+    }
+
+    /**
+     * GET /api/waitlist — the current user's waiting entries.
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, List<WaitlistResponse>>> getMine(
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(Map.of("entries", waitlistService.getMine(user)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leave(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user) {
+        waitlistService.leave(id, user);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.campus.booking.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class BookingSeriesRequest {
+
+    @NotNull
+    private Long facilityId;
+
+    /** Date of the first occurrence. */
+    @NotNull
+    @FutureOrPresent(message = "Booking date cannot be in the past")
+    private LocalDate date;
+
+    @NotBlank
+    @Pattern(regexp = "^([0-1]\\d|2[0-3]):[0-5]\\d$", message = "startTime must be HH:mm")
+    private String startTime;
+
+    @NotBlank
+    @Pattern(regexp = "^([0-1]\\d|2[0-3]):[0-5]\\d$", message = "endTime must be HH:mm")
+    private String endTime;
+
+    @Min(1)
+    private Integer attendees;
+
+    @Size(max = 500)
+    private String purpose;
+
+    /** daily | weekly */
+    @NotBlank
+    private String frequency;
+
+    /** Repeat every N days/weeks (default 1). */
+    @Min(1)
+    private Integer interval;
+
+    /** Number of occurrences; either this or untilDate is required. */
+    @Min(1)
+    private Integer count;
+
+    /** Last date an occurrence may fall on (inclusive). */
+    private LocalDate untilDate;
+}
@@ -0,0 +1,23 @@
+package com.campus.booking.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> ids;
+
+    /** confirmed | pending | cancelled | rejected */
+    @NotBlank
+    private String status;
+
+    /** Optional admin notes applied to every updated booking */
+    private String adminNotes;
+}
@@ -0,0 +1,15 @@
+package com.campus.booking.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+@Data
+public class UpdateUserAccessRequest {
+
+    /** student | faculty | admin; unchanged if null. */
+    private String role;
+
+    /** Unchanged if null. */
+    @JsonProperty("is_active")
+    private Boolean isActive;
+}
@@ -7,12 +7,17 @@ import lombok.Data;
 public class AuthResponse {
     private String token;
     private String type;
+    /** Seconds until {@code token} expires. */
+    private long expiresIn;
+    private String refreshToken;
     private UserResponse user;
 
-    public static AuthResponse of(String token, UserResponse user) {
+    public static AuthResponse of(String token, long expiresIn, String refreshToken, UserResponse user) {
         return AuthResponse.builder()
                 .token(token)
                 .type("Bearer")
+                .expiresIn(expiresIn)
+                .refreshToken(refreshToken)
                 .user(user)
                 .build();
     }
@@ -1,14 +1,16 @@
 package com.campus.booking.dto.response;
 
 import com.campus.booking.entity.Booking;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 
-@Data @Builder
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class BookingResponse {
     private Long id;
     private Long userId;
@@ -24,6 +26,7 @@ public class BookingResponse {
     private String purpose;
     private Integer attendees;
     private String adminNotes;
+    private Long seriesId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -43,6 +46,7 @@ public class BookingResponse {
                 .purpose(b.getPurpose())
                 .attendees(b.getAttendees())
                 .adminNotes(b.getAdminNotes())
+                .seriesId(b.getSeries() != null ? b.getSeries().getId() : null)
                 .createdAt(b.getCreatedAt())
                 .updatedAt(b.getUpdatedAt())
                 .build();
@@ -0,0 +1,36 @@
+package com.campus.booking.dto.response;
+
+import com.campus.booking.entity.BookingSeries;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data @Builder
+public class BookingSeriesResponse {
+    private Long id;
+    private Long facilityId;
+    private String frequency;
+    private int interval;
+    private LocalDate startDate;
+    private LocalDate untilDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private List<BookingResponse> bookings;
+
+    public static BookingSeriesResponse from(BookingSeries s, List<BookingResponse> bookings) {
+        return BookingSeriesResponse.builder()
+                .id(s.getId())
+                .facilityId(s.getFacility().getId())
+                .frequency(s.getFrequency().name().toLowerCase())
+                .interval(s.getInterval())
+                .startDate(s.getStartDate())
+                .untilDate(s.getUntilDate())
+                .startTime(s.getStartTime())
+                .endTime(s.getEndTime())
+                .bookings(bookings)
+                .build();
+    }
+}
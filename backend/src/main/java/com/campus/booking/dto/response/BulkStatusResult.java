@@ -0,0 +1,15 @@
+package com.campus.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class BulkStatusResult {
+    private Long id;
+    /** updated | not_found | invalid_transition | conflict */
+    private String outcome;
+    private String status;
+    private String message;
+}
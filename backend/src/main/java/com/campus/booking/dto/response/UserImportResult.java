@@ -0,0 +1,16 @@
+package com.campus.booking.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class UserImportResult {
+    /** Line number in the uploaded file (the header is line 1). */
+    private int row;
+    private String email;
+    /** created | exists | duplicate | invalid */
+    private String outcome;
+    private String message;
+}
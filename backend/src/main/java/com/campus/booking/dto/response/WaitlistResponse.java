@@ -0,0 +1,38 @@
+package com.campus.booking.dto.response;
+
+import com.campus.booking.entity.WaitlistEntry;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data @Builder
+public class WaitlistResponse {
+    private Long id;
+    private Long facilityId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String status;
+    private String purpose;
+    private Integer attendees;
+    private Long bookingId;
+    private LocalDateTime createdAt;
+
+    public static WaitlistResponse from(WaitlistEntry w) {
+        return WaitlistResponse.builder()
+                .id(w.getId())
+                .facilityId(w.getFacility().getId())
+                .date(w.getDate())
+                .startTime(w.getStartTime())
+                .endTime(w.getEndTime())
+                .status(w.getStatus().name().toLowerCase())
+                .purpose(w.getPurpose())
+                .attendees(w.getAttendees())
+                .bookingId(w.getBookingId())
+                .createdAt(w.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Amenity dictionary entry. {@code id} is the amenity's bit position in
+ * {@link Facility#getAmenityMask()}; entries from {@link #MAX_AMENITIES} on
+ * have no bit and are matched by name.
+ */
+@Entity
+@Table(name = "amenities")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class Amenity {
+
+    public static final int MAX_AMENITIES = Long.SIZE;
+
+    @Id
+    private Integer id;
+
+    /** Normalised (trimmed, lower-case) amenity name. */
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+}
@@ -12,14 +12,26 @@ import java.time.LocalTime;
     name = "bookings",
     indexes = {
         @Index(name = "idx_bookings_facility_date", columnList = "facility_id, date, status"),
-        @Index(name = "idx_bookings_user", columnList = "user_id")
+        @Index(name = "idx_bookings_user", columnList = "user_id"),
+        // Nightly stats roll-forward reads one day's confirmed bookings
+        @Index(name = "idx_bookings_date_status", columnList = "date, status"),
+        // Keyset pagination on (created_at, id), unfiltered and per common filter
+        @Index(name = "idx_bookings_created", columnList = "created_at, id"),
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_bookings_facility_created", columnList = "facility_id, created_at, id"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, created_at, id")
     }
 )
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Booking {
 
+    /**
+     * Sequence-backed so inserts can be JDBC-batched (IDENTITY disables
+     * batching); the pooled optimizer hands out ids in blocks of 50.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -30,6 +42,11 @@ public class Booking {
     @JoinColumn(name = "facility_id", nullable = false)
     private Facility facility;
 
+    /** Parent series for recurring bookings; null for one-off bookings. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private BookingSeries series;
+
     @Column(nullable = false)
     private LocalDate date;
 
@@ -0,0 +1,67 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Recurrence rule that a set of {@link Booking} occurrences was expanded from.
+ */
+@Entity
+@Table(name = "booking_series")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BookingSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_series_seq")
+    @SequenceGenerator(name = "booking_series_seq", sequenceName = "booking_series_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "facility_id", nullable = false)
+    private Facility facility;
+
+    @Column(nullable = false, length = 20)
+    private Frequency frequency;
+
+    /** Repeat every {@code interval} days or weeks. */
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "until_date", nullable = false)
+    private LocalDate untilDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private int occurrences;
+
+    @Column(length = 500)
+    private String purpose;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public enum Frequency {
+        DAILY, WEEKLY
+    }
+}
@@ -0,0 +1,43 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Running booking counters, maintained alongside every booking write.
+ *
+ * Row keys: a positive {@code user_id} holds that user's counters; negative
+ * keys are stripes of the global counters (summed on read, so concurrent
+ * writers rarely contend on one row); key {@code 0} only carries
+ * {@code as_of}, the day the "upcoming" counters were last rolled forward to.
+ */
+@Entity
+@Table(name = "booking_stats")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BookingStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long confirmed;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(nullable = false)
+    private long cancelled;
+
+    /** Confirmed bookings dated on or after {@code as_of}. */
+    @Column(nullable = false)
+    private long upcoming;
+
+    @Column(name = "as_of")
+    private LocalDate asOf;
+}
@@ -0,0 +1,69 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A rendered email written in the same transaction as the change it
+ * reports, and delivered later by {@code EmailOutboxDispatcher}. The message
+ * itself never changes; only the delivery bookkeeping does.
+ */
+@Entity
+@Table(
+    name = "email_outbox",
+    indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EmailOutboxMessage {
+
+    /** From a pooled sequence, so a bulk {@code saveAll} of messages goes out as one JDBC batch. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String recipient;
+
+    @Column(nullable = false, length = 300)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    /** Booking the message is about, for tracing. */
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /** When the message is next due; also the lease expiry while a dispatcher holds it. */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) nextAttemptAt = createdAt;
+    }
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+}
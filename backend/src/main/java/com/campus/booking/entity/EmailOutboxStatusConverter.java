@@ -0,0 +1,18 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class EmailOutboxStatusConverter implements AttributeConverter<EmailOutboxMessage.Status, String> {
+
+    @Override
+    public String convertToDatabaseColumn(EmailOutboxMessage.Status status) {
+        return status == null ? null : status.name().toLowerCase();
+    }
+
+    @Override
+    public EmailOutboxMessage.Status convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : EmailOutboxMessage.Status.valueOf(dbData.toUpperCase());
+    }
+}
@@ -34,6 +34,10 @@ public class Facility {
     @Builder.Default
     private List<String> amenities = new ArrayList<>();
 
+    /** {@link #amenities} as bits of the amenity dictionary (see {@code AmenityDictionary}). */
+    @Column(name = "amenity_mask", nullable = false, columnDefinition = "bigint not null default 0")
+    private long amenityMask;
+
     @Column(name = "facility_type", length = 50)
     private String facilityType;
 
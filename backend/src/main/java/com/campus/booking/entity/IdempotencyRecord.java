@@ -0,0 +1,41 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted outcome of a booking creation made with an {@code Idempotency-Key}.
+ * A row with no response is a claim held by a request still in progress.
+ */
+@Entity
+@Table(
+    name = "idempotency_keys",
+    indexes = @Index(name = "idx_idempotency_created", columnList = "created_at")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IdempotencyRecord {
+
+    /** "{userId}:{Idempotency-Key}" – keys are scoped per user. */
+    @Id
+    @Column(name = "scoped_key", length = 160)
+    private String scopedKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Hex SHA-256 of the canonical request body. */
+    @Column(name = "request_digest", length = 64, nullable = false)
+    private String requestDigest;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    /** Serialized BookingResponse returned to the original request. */
+    @Column(columnDefinition = "TEXT")
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token id (jti) revoked before its expiry. Rows are only needed
+ * until the token would have expired anyway.
+ */
+@Entity
+@Table(
+    name = "revoked_tokens",
+    indexes = @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class SeriesFrequencyConverter implements AttributeConverter<BookingSeries.Frequency, String> {
+
+    @Override
+    public String convertToDatabaseColumn(BookingSeries.Frequency frequency) {
+        return frequency == null ? null : frequency.name().toLowerCase();
+    }
+
+    @Override
+    public BookingSeries.Frequency convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : BookingSeries.Frequency.valueOf(dbData.toUpperCase());
+    }
+}
@@ -11,7 +11,15 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = {
+        // Keyset pagination of the admin user directory per sort order
+        @Index(name = "idx_users_name", columnList = "name, id"),
+        @Index(name = "idx_users_created", columnList = "created_at, id"),
+        @Index(name = "idx_users_role_active", columnList = "role, is_active")
+    }
+)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class User implements UserDetails {
 
@@ -40,6 +48,13 @@ public class User implements UserDetails {
     @Column(name = "is_active", nullable = false)
     private boolean isActive = true;
 
+    /**
+     * Embedded in issued tokens; bumped on deactivation or role change so
+     * tokens issued before it stop working.
+     */
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer not null default 0")
+    private int tokenVersion;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,18 @@
+package com.campus.booking.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class WaitlistStatusConverter implements AttributeConverter<WaitlistEntry.Status, String> {
+
+    @Override
+    public String convertToDatabaseColumn(WaitlistEntry.Status status) {
+        return status == null ? null : status.name().toLowerCase();
+    }
+
+    @Override
+    public WaitlistEntry.Status convertToEntityAttribute(String dbData) {
+        return dbData == null ? null : WaitlistEntry.Status.valueOf(dbData.toUpperCase());
+    }
+}
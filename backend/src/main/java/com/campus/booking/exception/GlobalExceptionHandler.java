@@ -1,6 +1,7 @@
 package com.campus.booking.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -35,7 +36,7 @@ public class GlobalExceptionHandler {
     // ── 401 Unauthorized ─────────────────────────────────────────────
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<Map<String, Object>> handleBadCredentials(BadCredentialsException ex) {
-        return error(HttpStatus.UNAUTHORIZED, "Invalid email or password", null);
+        return error(HttpStatus.UNAUTHORIZED, ex.getMessage(), null);
     }
 
     // ── 403 Forbidden ────────────────────────────────────────────────
@@ -56,6 +57,18 @@ public class GlobalExceptionHandler {
         return error(HttpStatus.CONFLICT, ex.getMessage(), null);
     }
 
+    // ── 429 Too Many Requests ────────────────────────────────────────
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        return retryLater(error(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), null), ex.getRetryAfterSeconds());
+    }
+
+    // ── 503 Service Unavailable ──────────────────────────────────────
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleUnavailable(ServiceUnavailableException ex) {
+        return retryLater(error(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null), ex.getRetryAfterSeconds());
+    }
+
     // ── 500 Catch-all ────────────────────────────────────────────────
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleAll(Exception ex) {
@@ -75,4 +88,11 @@ public class GlobalExceptionHandler {
         body.put("timestamp", LocalDateTime.now().toString());
         return ResponseEntity.status(status).body(body);
     }
+
+    private ResponseEntity<Map<String, Object>> retryLater(ResponseEntity<Map<String, Object>> response,
+                                                           long retryAfterSeconds) {
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
 }
@@ -0,0 +1,28 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.Amenity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AmenityRepository extends JpaRepository<Amenity, Integer> {
+
+    Optional<Amenity> findByName(String name);
+
+    /** Serialises bit assignment across nodes; held until the transaction ends. */
+    @Modifying
+    @Query(value = "LOCK TABLE amenities IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lock();
+
+    /** Gives {@code name} the next free bit unless it already has one. */
+    @Modifying
+    @Query(value = """
+        INSERT INTO amenities (id, name)
+        SELECT COALESCE(MAX(id) + 1, 0), :name FROM amenities
+        ON CONFLICT (name) DO NOTHING
+        """, nativeQuery = true)
+    int insertNext(@Param("name") String name);
+}
@@ -4,70 +4,111 @@ import com.campus.booking.entity.Booking;
 import com.campus.booking.entity.Booking.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>,
         JpaSpecificationExecutor<Booking> {
 
     /**
-     * Allen's interval overlap: bStart < reqEnd AND bEnd > reqStart
-     * Scoped to facility + date, ignoring CANCELLED / REJECTED.
-     * Optionally excludes a booking id (for updates).
+     * Returns booked slots (start + end + status) for an availability grid.
      */
     @Query("""
         SELECT b FROM Booking b
         WHERE b.facility.id = :facilityId
           AND b.date = :date
           AND b.status IN ('confirmed', 'pending')
-          AND b.startTime < :endTime
-          AND b.endTime > :startTime
-          AND (:excludeId IS NULL OR b.id <> :excludeId)
+        ORDER BY b.startTime
         """)
-    List<Booking> findConflicts(
+    List<Booking> findBookedSlots(
             @Param("facilityId") Long facilityId,
-            @Param("date") LocalDate date,
-            @Param("startTime") LocalTime startTime,
-            @Param("endTime") LocalTime endTime,
-            @Param("excludeId") Long excludeId);
+            @Param("date") LocalDate date);
 
     /**
-     * Returns booked slots (start + end + status) for an availability grid.
+     * Booked slots for a facility across a date window (inclusive), ordered
+     * so that each day's bookings come out in start-time order.
      */
     @Query("""
         SELECT b FROM Booking b
         WHERE b.facility.id = :facilityId
-          AND b.date = :date
+          AND b.date BETWEEN :from AND :to
           AND b.status IN ('confirmed', 'pending')
-        ORDER BY b.startTime
+        ORDER BY b.date, b.startTime
         """)
-    List<Booking> findBookedSlots(
+    List<Booking> findBookedSlotsBetween(
             @Param("facilityId") Long facilityId,
-            @Param("date") LocalDate date);
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    /**
+     * Booked slots across every active facility for one date, grouped by
+     * facility and ordered by start time within each group.
+     */
+    @Query("""
+        SELECT b FROM Booking b
+        WHERE b.date = :date
+          AND b.status IN ('confirmed', 'pending')
+          AND b.facility.isActive = true
+        ORDER BY b.facility.id, b.startTime
+        """)
+    List<Booking> findBookedSlotsForActiveFacilities(@Param("date") LocalDate date);
+
+    @Query("""
+        SELECT b FROM Booking b
+        JOIN FETCH b.user
+        JOIN FETCH b.facility
+        WHERE b.id IN :ids
+        """)
+    List<Booking> findAllWithUserAndFacilityByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Single booking with the associations {@code BookingResponse} reads, in one statement. */
+    @Query("""
+        SELECT b FROM Booking b
+        JOIN FETCH b.user
+        JOIN FETCH b.facility
+        WHERE b.id = :id
+        """)
+    Optional<Booking> findWithUserAndFacilityById(@Param("id") Long id);
 
     /**
-     * Stats aggregation per user (or all users if userId is null).
-     * Returns Object[] {total, confirmed, pending, cancelled, upcoming}
+     * Active bookings on any of the given facilities within a date window;
+     * callers narrow to exact (facility, date) pairs in memory.
      */
     @Query("""
-        SELECT
-            COUNT(b),
-            SUM(CASE WHEN b.status = 'confirmed' THEN 1 ELSE 0 END),
-            SUM(CASE WHEN b.status = 'pending'   THEN 1 ELSE 0 END),
-            SUM(CASE WHEN b.status = 'cancelled' THEN 1 ELSE 0 END),
-            SUM(CASE WHEN b.status = 'confirmed' AND b.date >= :today THEN 1 ELSE 0 END)
-        FROM Booking b
-        WHERE (:userId IS NULL OR b.user.id = :userId)
+        SELECT b FROM Booking b
+        WHERE b.facility.id IN :facilityIds
+          AND b.date BETWEEN :from AND :to
+          AND b.status IN ('confirmed', 'pending')
+        ORDER BY b.date, b.startTime
         """)
-    List<Object[]> getStats(@Param("userId") Long userId, @Param("today") LocalDate today);
+    List<Booking> findBookedSlotsForFacilitiesBetween(
+            @Param("facilityIds") Collection<Long> facilityIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
 
-    List<Booking> findByUser_IdOrderByCreatedAtDesc(Long userId);
+    /** Set-based status change for bulk admin actions. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Booking b
+        SET b.status = :status,
+            b.adminNotes = COALESCE(:adminNotes, b.adminNotes),
+            b.updatedAt = :now
+        WHERE b.id IN :ids
+        """)
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") Status status,
+                     @Param("adminNotes") String adminNotes,
+                     @Param("now") LocalDateTime now);
 
-    List<Booking> findAllByOrderByCreatedAtDesc();
+    @Query("SELECT b.facility.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findFacilityIdById(@Param("id") Long id);
 
     List<Booking> findByFacility_IdAndDateAndStatusIn(Long facilityId, LocalDate date, List<Status> statuses);
 }
@@ -0,0 +1,7 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+}
@@ -0,0 +1,110 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.BookingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingStatsRepository extends JpaRepository<BookingStats, Long> {
+
+    /** Adds the given deltas to a counter row, creating it if needed. */
+    @Modifying
+    @Query(value = """
+        INSERT INTO booking_stats (user_id, total, confirmed, pending, cancelled, upcoming)
+        VALUES (:key, :total, :confirmed, :pending, :cancelled, :upcoming)
+        ON CONFLICT (user_id) DO UPDATE SET
+            total     = booking_stats.total     + EXCLUDED.total,
+            confirmed = booking_stats.confirmed + EXCLUDED.confirmed,
+            pending   = booking_stats.pending   + EXCLUDED.pending,
+            cancelled = booking_stats.cancelled + EXCLUDED.cancelled,
+            upcoming  = booking_stats.upcoming  + EXCLUDED.upcoming
+        """, nativeQuery = true)
+    int increment(@Param("key") Long key,
+                  @Param("total") long total,
+                  @Param("confirmed") long confirmed,
+                  @Param("pending") long pending,
+                  @Param("cancelled") long cancelled,
+                  @Param("upcoming") long upcoming);
+
+    /** Global counters: the sum of the negative-keyed stripes. */
+    @Query(value = """
+        SELECT COALESCE(SUM(total), 0), COALESCE(SUM(confirmed), 0), COALESCE(SUM(pending), 0),
+               COALESCE(SUM(cancelled), 0), COALESCE(SUM(upcoming), 0)
+        FROM booking_stats
+        WHERE user_id < 0
+        """, nativeQuery = true)
+    List<Object[]> sumGlobal();
+
+    /**
+     * Fence between counter writers and maintenance, held until the
+     * transaction ends: writers take it shared, so they never block one
+     * another; roll-forward and rebuild take it exclusive, so they wait for
+     * in-flight writers and hold new ones back. Unlike a row lock it also
+     * works while the table is still empty.
+     */
+    @Query(value = "SELECT count(*) FROM pg_advisory_xact_lock_shared(hashtext('booking_stats'))", nativeQuery = true)
+    long lockShared();
+
+    @Query(value = "SELECT count(*) FROM pg_advisory_xact_lock(hashtext('booking_stats'))", nativeQuery = true)
+    long lockExclusive();
+
+    /** The date "upcoming" is currently counted from; read after taking the fence. */
+    @Query(value = "SELECT as_of FROM booking_stats WHERE user_id = 0", nativeQuery = true)
+    Optional<LocalDate> findAsOf();
+
+    @Modifying
+    @Query(value = "UPDATE booking_stats SET as_of = :asOf WHERE user_id = 0", nativeQuery = true)
+    int setAsOf(@Param("asOf") LocalDate asOf);
+
+    /** Takes confirmed bookings dated in {@code [from, to)} out of "upcoming", per user and globally. */
+    @Modifying
+    @Query(value = """
+        WITH passed AS (
+            SELECT user_id, COUNT(*) AS n
+            FROM bookings
+            WHERE status = 'confirmed' AND date >= :from AND date < :to
+            GROUP BY user_id
+        )
+        UPDATE booking_stats s
+        SET upcoming = s.upcoming - CASE WHEN s.user_id = -1
+                                         THEN (SELECT COALESCE(SUM(n), 0) FROM passed)
+                                         ELSE (SELECT n FROM passed p WHERE p.user_id = s.user_id) END
+        WHERE s.user_id = -1
+           OR s.user_id IN (SELECT user_id FROM passed)
+        """, nativeQuery = true)
+    int rollForward(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ── Full rebuild ──────────────────────────────────────────────────
+
+    @Modifying
+    @Query(value = "DELETE FROM booking_stats", nativeQuery = true)
+    int deleteAllRows();
+
+    /** Per-user rows, global stripe -1 and the {@code as_of} row, from one pass over bookings. */
+    @Modifying
+    @Query(value = """
+        WITH per_user AS (
+            SELECT user_id,
+                   COUNT(*) AS total,
+                   SUM(CASE WHEN status = 'confirmed' THEN 1 ELSE 0 END) AS confirmed,
+                   SUM(CASE WHEN status = 'pending'   THEN 1 ELSE 0 END) AS pending,
+                   SUM(CASE WHEN status = 'cancelled' THEN 1 ELSE 0 END) AS cancelled,
+                   SUM(CASE WHEN status = 'confirmed' AND date >= :today THEN 1 ELSE 0 END) AS upcoming
+            FROM bookings
+            GROUP BY user_id
+        )
+        INSERT INTO booking_stats (user_id, total, confirmed, pending, cancelled, upcoming, as_of)
+        SELECT user_id, total, confirmed, pending, cancelled, upcoming, CAST(NULL AS date) FROM per_user
+        UNION ALL
+        SELECT -1, COALESCE(SUM(total), 0), COALESCE(SUM(confirmed), 0), COALESCE(SUM(pending), 0),
+               COALESCE(SUM(cancelled), 0), COALESCE(SUM(upcoming), 0), NULL FROM per_user
+        UNION ALL
+        SELECT 0, 0, 0, 0, 0, 0, :today
+        """, nativeQuery = true)
+    int rebuildFromBookings(@Param("today") LocalDate today);
+}
@@ -0,0 +1,43 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Locks up to {@code limit} due messages, skipping rows another
+     * dispatcher has locked, so nodes never claim the same message.
+     */
+    @Query(value = """
+        SELECT * FROM email_outbox
+        WHERE status = 'pending'
+          AND next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /** Leases claimed messages: they stay pending but are not due again until {@code until}. */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :until WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        DELETE FROM EmailOutboxMessage m
+        WHERE m.status = 'sent'
+          AND m.sentAt < :cutoff
+        """)
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
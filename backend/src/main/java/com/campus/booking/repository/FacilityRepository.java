@@ -3,11 +3,59 @@ package com.campus.booking.repository;
 import com.campus.booking.entity.Facility;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface FacilityRepository extends JpaRepository<Facility, Long>,
         JpaSpecificationExecutor<Facility> {
 
     Optional<Facility> findByIdAndIsActiveTrue(Long id);
+
+    List<Facility> findByIsActiveTrueOrderByNameAsc();
+
+    /**
+     * Row count and latest {@code updated_at}, compared against the cached
+     * catalogue to spot writes made on other nodes.
+     */
+    @Query(value = """
+        SELECT count(*) || ':' || coalesce(max(updated_at)::text, '')
+        FROM facilities
+        """, nativeQuery = true)
+    String catalogProbe();
+
+    /** Active facilities with their amenities, in one statement. */
+    @Query("""
+        SELECT DISTINCT f FROM Facility f
+        LEFT JOIN FETCH f.amenities
+        WHERE f.isActive = true
+        ORDER BY f.id
+        """)
+    List<Facility> findAllActiveWithAmenities();
+
+    @Query("SELECT DISTINCT f FROM Facility f LEFT JOIN FETCH f.amenities")
+    List<Facility> findAllWithAmenities();
+
+    /**
+     * Active facility ids matching a search, most relevant first: full-text
+     * prefix match over the weighted {@code search_vector} (name, type,
+     * location, amenities, description), or a fuzzy / substring match on the
+     * name via the trigram index. Both columns are maintained by
+     * {@code SchemaInitializer}.
+     */
+    @Query(value = """
+        SELECT f.id FROM facilities f
+        WHERE f.is_active = true
+          AND (f.search_vector @@ to_tsquery('english', :tsQuery)
+               OR :term <% f.name
+               OR f.name ILIKE :pattern)
+        ORDER BY ts_rank(f.search_vector, to_tsquery('english', :tsQuery))
+               + word_similarity(:term, f.name) DESC,
+                 f.id
+        """, nativeQuery = true)
+    List<Long> searchIds(@Param("tsQuery") String tsQuery,
+                         @Param("term") String term,
+                         @Param("pattern") String pattern);
 }
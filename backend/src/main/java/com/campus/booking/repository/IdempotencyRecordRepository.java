@@ -0,0 +1,44 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /** Claims a key; returns 0 if another request already holds it. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+        INSERT INTO idempotency_keys (scoped_key, user_id, request_digest, created_at)
+        VALUES (:key, :userId, :requestDigest, :now)
+        ON CONFLICT (scoped_key) DO NOTHING
+        """, nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("userId") Long userId,
+              @Param("requestDigest") String requestDigest,
+              @Param("now") LocalDateTime now);
+
+    /** Joins the caller's transaction, so the response commits with the booking it describes. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.bookingId = :bookingId, r.response = :response WHERE r.scopedKey = :key")
+    int complete(@Param("key") String key,
+                 @Param("bookingId") Long bookingId,
+                 @Param("response") String response);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.scopedKey = :key")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,49 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /** Marks a token used; returns 0 if it was already used or revoked. */
+    @Modifying
+    @Query("""
+        UPDATE RefreshToken t SET t.usedAt = :now
+        WHERE t.id = :id AND t.usedAt IS NULL AND t.revoked = false
+        """)
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /** Current revoked flag, read from the database rather than the persistence context. */
+    @Query("SELECT t.revoked FROM RefreshToken t WHERE t.id = :id")
+    boolean isRevoked(@Param("id") Long id);
+
+    /** Tokens of a family whose access token may still be live. */
+    @Query("SELECT t FROM RefreshToken t WHERE t.family = :family AND t.accessExpiresAt > :now")
+    List<RefreshToken> findLiveInFamily(@Param("family") String family, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM RefreshToken t WHERE t.userId = :userId AND t.accessExpiresAt > :now")
+    List<RefreshToken> findLiveForUser(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.family = :family AND t.revoked = false")
+    int revokeFamily(@Param("family") String family);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.userId = :userId AND t.revoked = false")
+    int revokeAllForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,14 +2,27 @@ package com.campus.booking.repository;
 
 import com.campus.booking.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmailAndIsActiveTrue(String email);
 
     Optional<User> findByIdAndIsActiveTrue(Long id);
 
     boolean existsByEmail(String email);
+
+    /** Swaps the password hash only if it has not changed since it was read. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :hash WHERE u.id = :id AND u.password = :previous")
+    int replacePassword(@Param("id") Long id,
+                        @Param("previous") String previous,
+                        @Param("hash") String hash);
 }
@@ -0,0 +1,55 @@
+package com.campus.booking.repository;
+
+import com.campus.booking.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /** Waiting entries for one facility-day, oldest first; served by idx_waitlist_facility_date. */
+    @Query("""
+        SELECT w FROM WaitlistEntry w
+        WHERE w.facility.id = :facilityId
+          AND w.date = :date
+          AND w.status = 'waiting'
+        ORDER BY w.id
+        """)
+    List<WaitlistEntry> findWaitingOn(@Param("facilityId") Long facilityId, @Param("date") LocalDate date);
+
+    /** Locks still-waiting candidates so two promotions cannot pick the same entry. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT w FROM WaitlistEntry w
+        JOIN FETCH w.user
+        JOIN FETCH w.facility
+        WHERE w.id IN :ids
+          AND w.status = 'waiting'
+        ORDER BY w.id
+        """)
+    List<WaitlistEntry> lockWaiting(@Param("ids") Collection<Long> ids);
+
+    /** Moves waiting entries whose slot has started by {@code now} to {@code expired}. */
+    @Modifying
+    @Query("""
+        UPDATE WaitlistEntry w
+        SET w.status = :expired, w.updatedAt = :now
+        WHERE w.status = :waiting
+          AND (w.date < :date OR (w.date = :date AND w.startTime <= :time))
+        """)
+    int expireStarted(@Param("date") LocalDate date, @Param("time") LocalTime time,
+                      @Param("now") LocalDateTime now,
+                      @Param("waiting") WaitlistEntry.Status waiting,
+                      @Param("expired") WaitlistEntry.Status expired);
+
+    List<WaitlistEntry> findByUser_IdAndStatusOrderByDateAscStartTimeAsc(Long userId, WaitlistEntry.Status status);
+}
@@ -5,8 +5,11 @@ import com.campus.booking.entity.Facility;
 import com.campus.booking.entity.User;
 import com.campus.booking.entity.User.Role;
 import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.BookingSeriesRepository;
 import com.campus.booking.repository.FacilityRepository;
 import com.campus.booking.repository.UserRepository;
+import com.campus.booking.repository.WaitlistRepository;
+import com.campus.booking.service.BookingStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -32,6 +35,9 @@ public class DataSeeder implements CommandLineRunner {
     private final UserRepository     userRepository;
     private final FacilityRepository facilityRepository;
     private final BookingRepository  bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final BookingStatsService bookingStatsService;
     private final PasswordEncoder    passwordEncoder;
 
     @Override
@@ -40,7 +46,9 @@ public class DataSeeder implements CommandLineRunner {
         log.info("▶  Seeding database...");
 
         // Clear in FK order
+        waitlistRepository.deleteAll();
         bookingRepository.deleteAll();
+        bookingSeriesRepository.deleteAll();
         facilityRepository.deleteAll();
         userRepository.deleteAll();
 
@@ -85,6 +93,9 @@ public class DataSeeder implements CommandLineRunner {
         // Past/cancelled booking
         makeBooking(dave,  study1,  today.minusDays(1), "10:00","11:00", Booking.Status.CANCELLED, "Cancelled session");
 
+        bookingRepository.flush();
+        bookingStatsService.rebuild();
+
         log.info("✔  Seed complete: 8 users, 8 facilities, 12 bookings");
     }
 
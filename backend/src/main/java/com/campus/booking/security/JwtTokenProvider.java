@@ -1,63 +1,109 @@
 package com.campus.booking.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * Issues and verifies short-lived HS256 access tokens. Each carries a
+ * random id ({@code jti}) so it can be revoked individually through
+ * {@link TokenRevocationList}; sessions are extended with refresh tokens.
+ *
+ * The signing key and parser are built once. {@link #verify} parses and
+ * checks the signature a single time and returns typed claims; recently
+ * verified tokens are kept in a small LRU map so repeat requests with the
+ * same token skip the HMAC entirely until it expires.
+ */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpirationMs;
+    private final Map<String, TokenClaims> verified;
 
-    @Value("${app.jwt.expiration-ms}")
-    private long jwtExpirationMs;
+    /** What the rest of the application needs from a verified token. */
+    public record TokenClaims(Long userId, String role, int tokenVersion, String tokenId, Instant expiresAt) {
 
-    private SecretKey signingKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(
-                java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
-        return Keys.hmacShaKeyFor(keyBytes);
+        boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
+    }
+
+    /** A freshly signed access token with its id and expiry. */
+    public record AccessToken(String token, String tokenId, Instant expiresAt) {}
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration-ms}") long jwtExpirationMs,
+                            @Value("${app.jwt.cache-size:10000}") int cacheSize) {
+        this.signingKey      = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser          = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verified = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenClaims> eldest) {
+                return size() > cacheSize;
+            }
+        });
     }
 
-    public String generateToken(Long userId, String role) {
+    public AccessToken generateToken(Long userId, String role, int tokenVersion) {
         Date now    = new Date();
         Date expiry = new Date(now.getTime() + jwtExpirationMs);
+        String id   = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String token = Jwts.builder()
+                .id(id)
                 .subject(String.valueOf(userId))
                 .claim("role", role)
+                .claim("tv", tokenVersion)
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(signingKey())
+                .signWith(signingKey)
                 .compact();
+        return new AccessToken(token, id, expiry.toInstant());
     }
 
-    public Long extractUserId(String token) {
-        return Long.parseLong(parseClaims(token).getSubject());
+    public long getExpirationMs() {
+        return jwtExpirationMs;
     }
 
-    public boolean validateToken(String token) {
+    /** Claims of a valid, unexpired token; empty if it is malformed, forged or expired. */
+    public Optional<TokenClaims> verify(String token) {
+        TokenClaims cached = verified.get(token);
+        if (cached != null) {
+            if (!cached.isExpired()) return Optional.of(cached);
+            verified.remove(token);
+            return Optional.empty();
+        }
+
         try {
-            parseClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Integer version = claims.get("tv", Integer.class);
+            TokenClaims result = new TokenClaims(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("role", String.class),
+                    version != null ? version : 0,
+                    claims.getId(),
+                    claims.getExpiration().toInstant());
+            verified.put(token, result);
+            return Optional.of(result);
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("Invalid JWT: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
-
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
 }
@@ -0,0 +1,107 @@
+package com.campus.booking.security;
+
+import com.campus.booking.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Sliding-window limit on failed sign-ins, per account and per client IP.
+ *
+ * Each key keeps the timestamps of its failures inside the window, capped at
+ * the limit, so a key over the limit is rejected before its password is
+ * hashed. A successful sign-in clears the account's failures but not the
+ * IP's. Counts are per node.
+ */
+@Component
+public class LoginThrottle {
+
+    private final long windowMs;
+    private final int maxPerAccount;
+    private final int maxPerIp;
+
+    private final ConcurrentMap<String, Deque<Long>> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Deque<Long>> ips      = new ConcurrentHashMap<>();
+
+    public LoginThrottle(@Value("${app.auth.throttle.window:PT15M}") Duration window,
+                         @Value("${app.auth.throttle.max-per-account:5}") int maxPerAccount,
+                         @Value("${app.auth.throttle.max-per-ip:20}") int maxPerIp) {
+        this.windowMs = window.toMillis();
+        this.maxPerAccount = maxPerAccount;
+        this.maxPerIp = maxPerIp;
+    }
+
+    /** Throws 429 if either the account or the IP has used up its failures. */
+    public void check(String email, String ip) {
+        long now = System.currentTimeMillis();
+        long wait = Math.max(waitMs(accounts, email, maxPerAccount, now), waitMs(ips, ip, maxPerIp, now));
+        if (wait > 0) {
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please try again later",
+                    Math.max(1, (wait + 999) / 1000));
+        }
+    }
+
+    public void recordFailure(String email, String ip) {
+        long now = System.currentTimeMillis();
+        record(accounts, email, maxPerAccount, now);
+        record(ips, ip, maxPerIp, now);
+    }
+
+    public void recordSuccess(String email) {
+        accounts.remove(email);
+    }
+
+    // ── Window ────────────────────────────────────────────────────────
+
+    /** Milliseconds until the key drops under its limit, 0 if it already is. */
+    private long waitMs(ConcurrentMap<String, Deque<Long>> map, String key, int max, long now) {
+        if (key == null) return 0;
+        Deque<Long> failures = map.get(key);
+        if (failures == null) return 0;
+        synchronized (failures) {
+            prune(failures, now);
+            if (failures.size() < max) return 0;
+            return failures.peekFirst() + windowMs - now;
+        }
+    }
+
+    private void record(ConcurrentMap<String, Deque<Long>> map, String key, int max, long now) {
+        if (key == null) return;
+        map.compute(key, (k, failures) -> {
+            if (failures == null) failures = new ArrayDeque<>(max);
+            synchronized (failures) {
+                prune(failures, now);
+                if (failures.size() >= max) failures.pollFirst();
+                failures.addLast(now);
+            }
+            return failures;
+        });
+    }
+
+    private void prune(Deque<Long> failures, long now) {
+        while (!failures.isEmpty() && failures.peekFirst() <= now - windowMs) failures.pollFirst();
+    }
+
+    /** Drops keys whose failures have all left the window. */
+    @Scheduled(fixedRate = 60_000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        purge(accounts, now);
+        purge(ips, now);
+    }
+
+    private void purge(ConcurrentMap<String, Deque<Long>> map, long now) {
+        map.forEach((key, failures) -> map.computeIfPresent(key, (k, f) -> {
+            synchronized (f) {
+                prune(f, now);
+                return f.isEmpty() ? null : f;
+            }
+        }));
+    }
+}
@@ -0,0 +1,115 @@
+package com.campus.booking.security;
+
+import com.campus.booking.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small, bounded pool instead of the request thread.
+ *
+ * Hashing is CPU-bound, so the pool is sized to part of the cores and the
+ * queue in front of it is short: when both are full the caller gets a 503
+ * with Retry-After straight away rather than tying up a Tomcat thread that
+ * booking and availability requests need.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final int targetCost;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Value("${app.auth.hash-threads:0}") int threads,
+                          @Value("${app.auth.hash-queue:64}") int queueSize,
+                          @Value("${app.auth.hash-timeout:PT10S}") Duration timeout,
+                          @Value("${app.auth.retry-after:PT5S}") Duration retryAfter,
+                          @Value("${app.auth.bcrypt-cost:12}") int targetCost) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.targetCost = targetCost;
+
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ── Hashing ───────────────────────────────────────────────────────
+
+    public boolean matches(String raw, String encoded) {
+        return await(() -> passwordEncoder.matches(raw, encoded));
+    }
+
+    public String encode(String raw) {
+        return await(() -> passwordEncoder.encode(raw));
+    }
+
+    /** True if {@code encoded} is not a BCrypt hash at the configured cost. */
+    public boolean needsRehash(String encoded) {
+        return costOf(encoded) != targetCost;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue full ({} waiting)", executor.getQueue().size());
+            throw busy();
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("Sign-in is busy, please try again shortly", retryAfterSeconds);
+    }
+
+    /** Cost field of a {@code $2a$NN$...} hash, or -1 if it is not one. */
+    static int costOf(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$'
+                || encoded.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encoded.charAt(4);
+        char ones = encoded.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) return -1;
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
@@ -0,0 +1,84 @@
+package com.campus.booking.security;
+
+import com.campus.booking.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recently loaded principals, so an authenticated request does not need a
+ * {@code users} lookup.
+ *
+ * Every token carries the user's {@code tokenVersion}. Deactivation and role
+ * changes bump the version and evict the entry here after commit, so on this
+ * node the old token is refused on its next request. A newer token than the
+ * cached entry forces a reload. Other nodes see the change when their entry
+ * expires ({@code app.auth.principal-cache-ttl}). Cached users are shared
+ * between requests and must be treated as read-only.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final long ttlNanos;
+    private final Map<Long, Entry> principals;
+
+    private record Entry(User user, long loadedAt) {}
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService,
+                          @Value("${app.auth.principal-cache-ttl:PT1M}") Duration ttl,
+                          @Value("${app.auth.principal-cache-size:10000}") int maxEntries) {
+        this.userDetailsService = userDetailsService;
+        this.ttlNanos = ttl.toNanos();
+        this.principals = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * The active user for a verified token, or empty if the token's version
+     * has been superseded. Throws if the user no longer exists or is inactive.
+     */
+    public Optional<User> get(Long userId, int tokenVersion) {
+        long now = System.nanoTime();
+        Entry entry = principals.get(userId);
+        if (entry == null || now - entry.loadedAt() > ttlNanos || entry.user().getTokenVersion() < tokenVersion) {
+            principals.remove(userId);
+            entry = new Entry(userDetailsService.getUserById(userId), now);
+            principals.put(userId, entry);
+        }
+
+        if (entry.user().getTokenVersion() != tokenVersion) {
+            log.debug("Rejected token version {} for user {} (current {})",
+                    tokenVersion, userId, entry.user().getTokenVersion());
+            return Optional.empty();
+        }
+        return Optional.of(entry.user());
+    }
+
+    /** Drops the user's entry once the current transaction commits (immediately if there is none). */
+    public void evict(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            principals.remove(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principals.remove(userId);
+            }
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.campus.booking.security;
+
+import com.campus.booking.entity.RevokedToken;
+import com.campus.booking.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access token ids (jti) revoked before they expire, checked on every
+ * authenticated request without touching the database.
+ *
+ * Each node holds a Bloom filter over the revoked ids in front of an exact
+ * map. Almost every token is not revoked, and that answer comes from a few
+ * bit probes; only a filter hit consults the map, so false positives never
+ * reject a valid token. Revocations made on this node apply once their
+ * transaction commits. Those made elsewhere arrive with the next sync
+ * from {@code revoked_tokens}. Entries are dropped once the token they
+ * name has expired, so the set stays as small as the access-token lifetime
+ * allows.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private static final int HASHES = 7;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedSize;
+
+    private final Object lock = new Object();
+    private volatile Filter filter;
+
+    /** Bloom bits plus the exact ids and their expiry in epoch millis. */
+    private record Filter(AtomicLongArray bits, ConcurrentMap<String, Long> exact) {
+
+        static Filter sized(int expected) {
+            // ~1% false positives with 7 hashes: about 9.6 bits per entry
+            long bits = Math.max(1024L, (long) Math.ceil(expected * 9.6));
+            return new Filter(new AtomicLongArray((int) ((bits + 63) / 64)), new ConcurrentHashMap<>());
+        }
+
+        void add(String jti, long expiresAt) {
+            exact.put(jti, expiresAt);
+            long h = hash(jti);
+            long h1 = h, h2 = (h >>> 32) | 1;
+            long size = bits.length() * 64L;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                bits.getAndAccumulate(word, mask, (a, b) -> a | b);
+            }
+        }
+
+        boolean mightContain(String jti) {
+            long h = hash(jti);
+            long h1 = h, h2 = (h >>> 32) | 1;
+            long size = bits.length() * 64L;
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private static long hash(String s) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${app.jwt.revocation.expected-size:10000}") int expectedSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedSize = expectedSize;
+        this.filter = Filter.sized(expectedSize);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) return false;
+        Filter f = filter;
+        return f.mightContain(jti) && f.exact().containsKey(jti);
+    }
+
+    /**
+     * Revokes an access token in the caller's transaction; this node starts
+     * rejecting it on commit.
+     */
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || !expiresAt.isAfter(LocalDateTime.now())) return;
+        revokedTokenRepository.insert(jti, expiresAt);
+        long expiry = toMillis(expiresAt);
+        afterCommit(() -> {
+            synchronized (lock) {
+                filter.add(jti, expiry);
+            }
+        });
+    }
+
+    // ── Sync ──────────────────────────────────────────────────────────
+
+    /**
+     * Rebuilds the filter from the unexpired rows, keeping local entries
+     * not yet visible to the query, and sized for the current count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.sync-interval:PT10S}",
+               initialDelayString = "${app.jwt.revocation.sync-interval:PT10S}")
+    public void sync() {
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
+        long now = System.currentTimeMillis();
+
+        synchronized (lock) {
+            Filter current = filter;
+            int live = rows.size() + current.exact().size();
+            Filter next = Filter.sized(Math.max(expectedSize, live * 2));
+            for (RevokedToken r : rows) next.add(r.getJti(), toMillis(r.getExpiresAt()));
+            current.exact().forEach((jti, expiry) -> {
+                if (expiry > now) next.add(jti, expiry);
+            });
+            filter = next;
+        }
+    }
+
+    @Scheduled(cron = "0 */15 * * * *")
+    public void purge() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.debug("Purged {} expired token revocations", deleted);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private static long toMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -23,14 +23,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
     }
 
-    /** Used by the JWT filter — looks up by id to catch deactivations post-token issuance. */
-    @Transactional(readOnly = true)
-    public UserDetails loadUserById(Long id) {
-        return userRepository.findByIdAndIsActiveTrue(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + id));
-    }
-
-    /** Returns the full User entity (not just UserDetails). */
+    /** Full User entity; loaded by {@link PrincipalCache} to catch deactivations post-token issuance. */
     @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findByIdAndIsActiveTrue(id)
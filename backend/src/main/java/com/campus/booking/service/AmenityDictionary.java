@@ -0,0 +1,141 @@
+package com.campus.booking.service;
+
+import com.campus.booking.entity.Amenity;
+import com.campus.booking.repository.AmenityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps amenity names to bit positions so a facility's amenities fit in one
+ * {@code long} and "has all of these" is a single AND.
+ *
+ * Names are matched case-insensitively. Bits are handed out once and never
+ * reused; new names are registered in their own short transaction, so a
+ * rolled-back facility write at worst leaves an unused dictionary entry.
+ * Names registered past the 64th still get an entry but no bit; filters on
+ * them fall back to comparing the amenity lists.
+ */
+@Component
+@Slf4j
+public class AmenityDictionary {
+
+    private final AmenityRepository amenityRepository;
+    private final TransactionTemplate registration;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public AmenityDictionary(AmenityRepository amenityRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.amenityRepository = amenityRepository;
+        this.registration = new TransactionTemplate(transactionManager);
+        this.registration.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Amenities a facility must offer: the bits of the names that have one,
+     * plus the (normalised) names past the bitmap, which are looked up in
+     * the facility's amenity list instead.
+     */
+    public record Required(long mask, Set<String> unmapped) {
+
+        public static final Required NONE = new Required(0L, Set.of());
+
+        public boolean isNone() {
+            return mask == 0L && unmapped.isEmpty();
+        }
+
+        public boolean matchedBy(long amenityMask, Collection<String> amenities) {
+            if ((amenityMask & mask) != mask) return false;
+            if (unmapped.isEmpty()) return true;
+            Set<String> offered = new HashSet<>();
+            for (String a : amenities) {
+                String key = normalise(a);
+                if (key != null) offered.add(key);
+            }
+            return offered.containsAll(unmapped);
+        }
+    }
+
+    /** Mask for a facility's amenities, registering any names not seen before. */
+    public long assign(Collection<String> amenities) {
+        long mask = 0L;
+        if (amenities == null) return mask;
+        for (String a : amenities) {
+            String key = normalise(a);
+            if (key == null) continue;
+            Integer bit = bit(key);
+            if (bit == null) bit = register(key);
+            if (bit < Amenity.MAX_AMENITIES) mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /** What a facility must offer; empty if any name is unknown (nothing can match). */
+    public Optional<Required> required(Collection<String> amenities) {
+        if (amenities == null) return Optional.of(Required.NONE);
+        long mask = 0L;
+        Set<String> unmapped = new HashSet<>();
+        for (String a : amenities) {
+            String key = normalise(a);
+            if (key == null) continue;
+            Integer bit = bit(key);
+            if (bit == null) bit = lookup(key);
+            if (bit == null) return Optional.empty();
+            if (bit < Amenity.MAX_AMENITIES) mask |= 1L << bit;
+            else unmapped.add(key);
+        }
+        return Optional.of(new Required(mask, Set.copyOf(unmapped)));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private Integer bit(String key) {
+        if (!loaded) load();
+        return bits.get(key);
+    }
+
+    /** Picks up names registered by another node since this one loaded. */
+    private Integer lookup(String key) {
+        return amenityRepository.findByName(key)
+                .map(a -> {
+                    bits.put(a.getName(), a.getId());
+                    return a.getId();
+                })
+                .orElse(null);
+    }
+
+    private synchronized void load() {
+        if (loaded) return;
+        for (Amenity a : amenityRepository.findAll()) bits.put(a.getName(), a.getId());
+        loaded = true;
+    }
+
+    private synchronized int register(String key) {
+        Integer known = bits.get(key);
+        if (known != null) return known;
+
+        Amenity amenity = registration.execute(status -> {
+            amenityRepository.lock();
+            amenityRepository.insertNext(key);
+            return amenityRepository.findByName(key).orElseThrow();
+        });
+        if (amenity.getId() >= Amenity.MAX_AMENITIES) {
+            log.warn("Amenity '{}' is past the {}-bit mask; filtering on it compares amenity lists",
+                    key, Amenity.MAX_AMENITIES);
+        }
+        bits.put(key, amenity.getId());
+        return amenity.getId();
+    }
+
+    private static String normalise(String name) {
+        return StringUtils.hasText(name) ? name.trim().toLowerCase() : null;
+    }
+}
@@ -3,6 +3,7 @@ package com.campus.booking.service;
 import com.campus.booking.dto.request.LoginRequest;
 import com.campus.booking.dto.request.RegisterRequest;
 import com.campus.booking.dto.request.UpdateProfileRequest;
+import com.campus.booking.dto.request.UpdateUserAccessRequest;
 import com.campus.booking.dto.response.AuthResponse;
 import com.campus.booking.dto.response.UserResponse;
 import com.campus.booking.entity.User;
@@ -11,24 +12,45 @@ import com.campus.booking.exception.BadRequestException;
 import com.campus.booking.exception.ConflictException;
 import com.campus.booking.exception.ResourceNotFoundException;
 import com.campus.booking.repository.UserRepository;
-import com.campus.booking.security.JwtTokenProvider;
+import com.campus.booking.exception.ServiceUnavailableException;
+import com.campus.booking.security.LoginThrottle;
+import com.campus.booking.security.PasswordHasher;
+import com.campus.booking.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE     = 200;
+
+    private static final String[] SEARCH_COLUMNS = {"name", "email", "studentId", "department"};
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final PrincipalCache principalCache;
 
     @Value("${app.admin.secret}")
     private String adminSecret;
@@ -60,7 +82,7 @@ public class AuthService {
         User user = User.builder()
                 .name(req.getName())
                 .email(req.getEmail().toLowerCase())
-                .password(passwordEncoder.encode(req.getPassword()))
+                .password(passwordHasher.encode(req.getPassword()))
                 .role(role)
                 .studentId(req.getStudentId())
                 .department(req.getDepartment())
@@ -68,25 +90,49 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
-
-        String token = jwtTokenProvider.generateToken(user.getId(), user.getRole().name());
-        return AuthResponse.of(token, UserResponse.from(user));
+        return refreshTokenService.issue(user);
     }
 
-    public AuthResponse login(LoginRequest req) {
-        User user = userRepository.findByEmailAndIsActiveTrue(req.getEmail().toLowerCase())
-                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
+    /**
+     * Throttled per account and client IP before any hashing; the password
+     * check itself runs on the {@link PasswordHasher} pool. Hashes not at the
+     * configured BCrypt cost are upgraded on a successful sign-in.
+     */
+    public AuthResponse login(LoginRequest req, String clientIp) {
+        String email = req.getEmail().toLowerCase();
+        loginThrottle.check(email, clientIp);
 
-        if (!passwordEncoder.matches(req.getPassword(), user.getPassword())) {
+        User user = userRepository.findByEmailAndIsActiveTrue(email).orElse(null);
+        if (user == null || !passwordHasher.matches(req.getPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(email, clientIp);
             throw new BadCredentialsException("Invalid email or password");
         }
 
-        if (!user.isActive()) {
-            throw new BadCredentialsException("Account deactivated");
+        loginThrottle.recordSuccess(email);
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            rehash(user, req.getPassword());
         }
+        return refreshTokenService.issue(user);
+    }
+
+    /** Best effort: a busy hashing pool leaves the old hash for next time. */
+    private void rehash(User user, String rawPassword) {
+        try {
+            String hash = passwordHasher.encode(rawPassword);
+            if (userRepository.replacePassword(user.getId(), user.getPassword(), hash) == 1) {
+                log.debug("Rehashed password for user {}", user.getId());
+            }
+        } catch (ServiceUnavailableException e) {
+            log.debug("Skipped rehash for user {}: hashing pool busy", user.getId());
+        }
+    }
 
-        String token = jwtTokenProvider.generateToken(user.getId(), user.getRole().name());
-        return AuthResponse.of(token, UserResponse.from(user));
+    public AuthResponse refresh(String refreshToken) {
+        return refreshTokenService.rotate(refreshToken);
+    }
+
+    public void logout(String accessToken, String refreshToken) {
+        refreshTokenService.logout(accessToken, refreshToken);
     }
 
     @Transactional(readOnly = true)
@@ -105,13 +151,179 @@ public class AuthService {
         if (req.getStudentId() != null)                user.setStudentId(req.getStudentId());
         if (StringUtils.hasText(req.getDepartment()))  user.setDepartment(req.getDepartment());
 
+        principalCache.evict(userId);
+        return UserResponse.from(userRepository.save(user));
+    }
+
+    /**
+     * Admin: change a user's role and/or active flag. Either change bumps
+     * the user's token version, so tokens issued before it stop working;
+     * deactivation also ends the user's sessions.
+     */
+    @Transactional
+    public UserResponse updateAccess(Long userId, UpdateUserAccessRequest req, User currentUser) {
+        if (userId.equals(currentUser.getId())) {
+            throw new BadRequestException("You cannot change your own role or status");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        boolean changed = false;
+        if (StringUtils.hasText(req.getRole())) {
+            Role role;
+            try {
+                role = Role.valueOf(req.getRole().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid role: " + req.getRole());
+            }
+            changed |= role != user.getRole();
+            user.setRole(role);
+        }
+        if (req.getIsActive() != null) {
+            changed |= req.getIsActive() != user.isActive();
+            user.setActive(req.getIsActive());
+        }
+
+        if (changed) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            principalCache.evict(userId);
+        }
+        if (!user.isActive()) {
+            refreshTokenService.revokeAll(userId);
+        }
         return UserResponse.from(userRepository.save(user));
     }
 
+    /**
+     * Admin user directory: one page in the chosen order, keyed on
+     * {@code (sort column, id)} so deep pages stay index range scans.
+     *
+     * Every word of {@code search} must match the name, email, student id
+     * or department: words of three or more characters as a substring
+     * (trigram indexes), shorter ones as a prefix (pattern btrees).
+     */
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(UserResponse::from)
-                .toList();
+    public Map<String, Object> getUsers(String search, String roleParam, Boolean active,
+                                        String sortParam, String direction, String cursor, Integer limit) {
+        UserSort sort = UserSort.from(sortParam);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Role role = null;
+        if (StringUtils.hasText(roleParam)) {
+            try {
+                role = Role.valueOf(roleParam.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid role: " + roleParam);
+            }
+        }
+
+        Specification<User> spec = directoryFilter(search, role, active,
+                sort, descending, sort.decodeCursor(cursor));
+        Sort.Direction dir = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        List<User> rows = userRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(new Sort.Order(dir, sort.property), new Sort.Order(dir, "id")))
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<User> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("data", page.stream().map(UserResponse::from).toList());
+        result.put("nextCursor", hasMore ? sort.encodeCursor(page.get(page.size() - 1)) : null);
+        return result;
+    }
+
+    // ── Directory helpers ─────────────────────────────────────────────
+
+    /** Sortable columns, each backed by a {@code (column, id)} index. */
+    private enum UserSort {
+        NAME("name"), EMAIL("email"), CREATED_AT("createdAt");
+
+        final String property;
+
+        UserSort(String property) {
+            this.property = property;
+        }
+
+        static UserSort from(String value) {
+            if (!StringUtils.hasText(value)) return NAME;
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid sort: " + value);
+            }
+        }
+
+        Comparable<?> valueOf(User u) {
+            return switch (this) {
+                case NAME       -> u.getName();
+                case EMAIL      -> u.getEmail();
+                case CREATED_AT -> u.getCreatedAt();
+            };
+        }
+
+        String encodeCursor(User last) {
+            String raw = valueOf(last) + "|" + last.getId();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** {@code [sort value, id]} of the previous page's last row, or null. */
+        Object[] decodeCursor(String cursor) {
+            if (!StringUtils.hasText(cursor)) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                String value = raw.substring(0, sep);
+                Long id = Long.parseLong(raw.substring(sep + 1));
+                return new Object[] {this == CREATED_AT ? LocalDateTime.parse(value) : value, id};
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Specification<User> directoryFilter(String search, Role role, Boolean active,
+                                                       UserSort sort, boolean descending, Object[] after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (role != null)
+                predicates.add(cb.equal(root.get("role"), role));
+            if (active != null)
+                predicates.add(cb.equal(root.get("isActive"), active));
+
+            if (StringUtils.hasText(search)) {
+                for (String word : search.trim().toLowerCase().split("\\s+")) {
+                    String escaped = escapeLike(word);
+                    String pattern = word.length() >= 3 ? "%" + escaped + "%" : escaped + "%";
+                    Predicate[] anyColumn = new Predicate[SEARCH_COLUMNS.length];
+                    for (int i = 0; i < SEARCH_COLUMNS.length; i++) {
+                        anyColumn[i] = cb.like(cb.lower(root.get(SEARCH_COLUMNS[i])), pattern, '\\');
+                    }
+                    predicates.add(cb.or(anyColumn));
+                }
+            }
+
+            // Row-value comparison (column, id) past the cursor, spelled out for JPQL
+            if (after != null) {
+                Expression<Comparable> column = root.get(sort.property);
+                Comparable value = (Comparable) after[0];
+                Long id = (Long) after[1];
+                predicates.add(descending
+                        ? cb.or(cb.lessThan(column, value),
+                                cb.and(cb.equal(column, value), cb.lessThan(root.get("id"), id)))
+                        : cb.or(cb.greaterThan(column, value),
+                                cb.and(cb.equal(column, value), cb.greaterThan(root.get("id"), id))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
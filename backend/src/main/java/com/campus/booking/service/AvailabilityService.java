@@ -2,6 +2,8 @@ package com.campus.booking.service;
 
 import com.campus.booking.dto.response.SlotDto;
 import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.exception.BadRequestException;
 import com.campus.booking.exception.ResourceNotFoundException;
 import com.campus.booking.repository.BookingRepository;
 import com.campus.booking.repository.FacilityRepository;
@@ -12,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 @Service
@@ -20,10 +23,12 @@ public class AvailabilityService {
 
     private final FacilityRepository facilityRepository;
     private final BookingRepository  bookingRepository;
+    private final SlotHoldService    slotHoldService;
 
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
     private static final LocalTime DEFAULT_START = LocalTime.of(8, 0);
     private static final LocalTime DEFAULT_END   = LocalTime.of(22, 0);
+    private static final int MAX_RANGE_DAYS = 90;
 
     // ── Daily slot grid ───────────────────────────────────────────────
 
@@ -38,25 +43,16 @@ public class AvailabilityService {
         LocalTime rangeEnd   = endStr != null
                 ? LocalTime.parse(endStr,   TIME_FMT) : DEFAULT_END;
 
-        List<SlotDto> slots = generateSlots(rangeStart, rangeEnd);
-
-        // Overlay booked slots
-        List<Booking> booked = bookingRepository.findBookedSlots(facilityId, date);
-        for (Booking b : booked) {
-            for (SlotDto slot : slots) {
-                LocalTime sStart = LocalTime.parse(slot.getStart(), TIME_FMT);
-                LocalTime sEnd   = LocalTime.parse(slot.getEnd(),   TIME_FMT);
-                // Slot overlaps booking?
-                if (sStart.isBefore(b.getEndTime()) && sEnd.isAfter(b.getStartTime())) {
-                    slot.setStatus(b.getStatus().name().toLowerCase());
-                    slot.setBookingId(b.getId());
-                }
-            }
+        DayOccupancy occupancy = DayOccupancy.of(bookingRepository.findBookedSlots(facilityId, date));
+        for (SlotHoldService.Hold h : slotHoldService.holdsFor(facilityId, date)) {
+            occupancy.hold(h.start(), h.end());
         }
+        List<SlotDto> slots = occupancy.toSlots(rangeStart, rangeEnd);
 
         long total     = slots.size();
-        long available = slots.stream().filter(s -> "available".equals(s.getStatus())).count();
-        long bookedCnt = total - available;
+        long bookedCnt = occupancy.bookedCount(rangeStart, rangeEnd);
+        long heldCnt   = occupancy.heldCount(rangeStart, rangeEnd);
+        long available = total - bookedCnt - heldCnt;
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("facilityId", facilityId);
@@ -65,69 +61,124 @@ public class AvailabilityService {
         result.put("summary", Map.of(
                 "total", total,
                 "available", available,
-                "booked", bookedCnt
+                "booked", bookedCnt,
+                "held", heldCnt
         ));
         return result;
     }
 
-    // ── Weekly summary ────────────────────────────────────────────────
+    // ── Campus-wide matrix ────────────────────────────────────────────
 
+    /**
+     * Slot grid for every active facility on one date. Bookings come from a
+     * single query grouped by facility; the per-facility overlays are then
+     * rendered in parallel.
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getWeekly(Long facilityId, LocalDate startDate) {
-        facilityRepository.findByIdAndIsActiveTrue(facilityId)
-                .orElseThrow(() -> new ResourceNotFoundException("Facility not found: " + facilityId));
-
-        List<Map<String, Object>> days = new ArrayList<>();
+    public Map<String, Object> getMatrix(LocalDate date, String startStr, String endStr) {
+        LocalTime rangeStart = startStr != null
+                ? LocalTime.parse(startStr, TIME_FMT) : DEFAULT_START;
+        LocalTime rangeEnd   = endStr != null
+                ? LocalTime.parse(endStr,   TIME_FMT) : DEFAULT_END;
 
-        for (int i = 0; i < 7; i++) {
-            LocalDate day = startDate.plusDays(i);
+        List<Facility> facilities = facilityRepository.findByIsActiveTrueOrderByNameAsc();
 
-            List<SlotDto> slots = generateSlots(DEFAULT_START, DEFAULT_END);
-            List<Booking> booked = bookingRepository.findBookedSlots(facilityId, day);
+        Map<Long, DayOccupancy> byFacility = new HashMap<>();
+        for (Booking b : bookingRepository.findBookedSlotsForActiveFacilities(date)) {
+            byFacility.computeIfAbsent(b.getFacility().getId(), id -> new DayOccupancy()).add(b);
+        }
 
-            for (Booking b : booked) {
-                for (SlotDto slot : slots) {
-                    LocalTime sStart = LocalTime.parse(slot.getStart(), TIME_FMT);
-                    LocalTime sEnd   = LocalTime.parse(slot.getEnd(),   TIME_FMT);
-                    if (sStart.isBefore(b.getEndTime()) && sEnd.isAfter(b.getStartTime())) {
-                        slot.setStatus(b.getStatus().name().toLowerCase());
+        List<Map<String, Object>> rows = facilities.parallelStream()
+                .map(f -> {
+                    DayOccupancy occupancy = byFacility.getOrDefault(f.getId(), new DayOccupancy());
+                    for (SlotHoldService.Hold h : slotHoldService.holdsFor(f.getId(), date)) {
+                        occupancy.hold(h.start(), h.end());
                     }
-                }
-            }
+                    List<SlotDto> slots = occupancy.toSlots(rangeStart, rangeEnd);
+                    long total  = slots.size();
+                    long booked = occupancy.bookedCount(rangeStart, rangeEnd);
+                    long held   = occupancy.heldCount(rangeStart, rangeEnd);
+
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("facilityId",   f.getId());
+                    row.put("facilityName", f.getName());
+                    row.put("facilityType", f.getFacilityType());
+                    row.put("slots", slots);
+                    row.put("summary", Map.of(
+                            "total", total,
+                            "available", total - booked - held,
+                            "booked", booked,
+                            "held", held
+                    ));
+                    return row;
+                })
+                .toList();
 
-            long total     = slots.size();
-            long available = slots.stream().filter(s -> "available".equals(s.getStatus())).count();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", date.toString());
+        result.put("facilities", rows);
+        return result;
+    }
 
-            Map<String, Object> dayData = new LinkedHashMap<>();
-            dayData.put("date",       day.toString());
-            dayData.put("dayOfWeek",  day.getDayOfWeek().name());
-            dayData.put("total",      total);
-            dayData.put("available",  available);
-            dayData.put("booked",     total - available);
-            days.add(dayData);
+    // ── Weekly / range summary ────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getWeekly(Long facilityId, LocalDate startDate) {
+        facilityRepository.findByIdAndIsActiveTrue(facilityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Facility not found: " + facilityId));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("facilityId", facilityId);
+        result.put("startDate",  startDate.toString());
+        result.put("days", summarizeDays(facilityId, startDate, startDate.plusDays(6)));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getRange(Long facilityId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("end_date must not be before start_date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
         }
 
+        facilityRepository.findByIdAndIsActiveTrue(facilityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Facility not found: " + facilityId));
+
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("facilityId", facilityId);
         result.put("startDate",  startDate.toString());
-        result.put("days", days);
+        result.put("endDate",    endDate.toString());
+        result.put("days", summarizeDays(facilityId, startDate, endDate));
         return result;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────
 
-    private List<SlotDto> generateSlots(LocalTime start, LocalTime end) {
-        List<SlotDto> slots = new ArrayList<>();
-        LocalTime cursor = start;
-        while (cursor.plusMinutes(30).compareTo(end) <= 0) {
-            slots.add(SlotDto.builder()
-                    .start(cursor.format(TIME_FMT))
-                    .end(cursor.plusMinutes(30).format(TIME_FMT))
-                    .status("available")
-                    .bookingId(null)
-                    .build());
-            cursor = cursor.plusMinutes(30);
+    /** Per-day counts for {@code [from, to]} from a single range query. */
+    private List<Map<String, Object>> summarizeDays(Long facilityId, LocalDate from, LocalDate to) {
+        Map<LocalDate, DayOccupancy> byDate = new HashMap<>();
+        for (Booking b : bookingRepository.findBookedSlotsBetween(facilityId, from, to)) {
+            byDate.computeIfAbsent(b.getDate(), d -> new DayOccupancy()).add(b);
+        }
+
+        long total = DayOccupancy.slotCount(DEFAULT_START, DEFAULT_END);
+        List<Map<String, Object>> days = new ArrayList<>();
+
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayOccupancy occupancy = byDate.get(day);
+            long available = total - (occupancy != null
+                    ? occupancy.bookedCount(DEFAULT_START, DEFAULT_END) : 0);
+
+            Map<String, Object> dayData = new LinkedHashMap<>();
+            dayData.put("date",       day.toString());
+            dayData.put("dayOfWeek",  day.getDayOfWeek().name());
+            dayData.put("total",      total);
+            dayData.put("available",  available);
+            dayData.put("booked",     total - available);
+            days.add(dayData);
         }
-        return slots;
+        return days;
     }
 }
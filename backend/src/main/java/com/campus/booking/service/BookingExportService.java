@@ -0,0 +1,147 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams bookings to an output stream for audits.
+ *
+ * Rows come from a forward-only database cursor ({@code fetchSize} rows per
+ * round trip, read-only so Hibernate keeps no snapshots) and are written as
+ * they arrive; the persistence context is cleared every batch, so memory
+ * stays flat however many rows are exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingExportService {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String[] CSV_HEADER = {
+            "id", "user_id", "user_name", "user_email", "facility_id", "facility_name",
+            "facility_location", "date", "start_time", "end_time", "status", "purpose",
+            "attendees", "admin_notes", "series_id", "created_at", "updated_at"
+    };
+
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension   = extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid format: " + value + " (expected csv or ndjson)");
+            }
+        }
+    }
+
+    /** Validates the list-endpoint filters up front, before any bytes are written. */
+    public Specification<Booking> filter(Long facilityId, String status, Long userId,
+                                         LocalDate from, LocalDate to) {
+        return bookingService.listFilter(facilityId, status, userId, from, to, null);
+    }
+
+    public void write(Specification<Booking> filter, Format format, OutputStream out) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<Booking> rows = stream(filter)) {
+                if (format == Format.CSV) writeCsvRow(writer, CSV_HEADER);
+
+                int n = 0;
+                for (Iterator<Booking> it = rows.iterator(); it.hasNext(); ) {
+                    BookingResponse row = BookingResponse.from(it.next());
+                    if (format == Format.CSV) writeCsvRow(writer, csvFields(row));
+                    else writer.write(objectMapper.writeValueAsString(row) + "\n");
+
+                    if (++n % FETCH_SIZE == 0) entityManager.clear();
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private Stream<Booking> stream(Specification<Booking> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.where(filter.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static String[] csvFields(BookingResponse b) {
+        return new String[]{
+                str(b.getId()), str(b.getUserId()), b.getUserName(), b.getUserEmail(),
+                str(b.getFacilityId()), b.getFacilityName(), b.getFacilityLocation(),
+                str(b.getDate()), str(b.getStartTime()), str(b.getEndTime()), b.getStatus(),
+                b.getPurpose(), str(b.getAttendees()), b.getAdminNotes(), str(b.getSeriesId()),
+                str(b.getCreatedAt()), str(b.getUpdatedAt())
+        };
+    }
+
+    private static void writeCsvRow(Writer w, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) w.write(',');
+            w.write(csvEscape(fields[i]));
+        }
+        w.write("\r\n");
+    }
+
+    /** RFC 4180 quoting; leading formula characters are neutralised for spreadsheet users. */
+    private static String csvEscape(String value) {
+        if (value == null || value.isEmpty()) return "";
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') value = "'" + value;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String str(Object o) {
+        return o != null ? o.toString() : null;
+    }
+}
@@ -0,0 +1,397 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.request.BookingRequest;
+import com.campus.booking.dto.request.UpdateBookingRequest;
+import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.User;
+import com.campus.booking.exception.ConflictException;
+import com.campus.booking.exception.ServiceUnavailableException;
+import com.campus.booking.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Opt-in single-writer path for booking writes ({@code app.booking.sequencer.enabled}).
+ *
+ * Creates and updates are queued per facility. A writer takes one batch from
+ * a facility's queue, checks each request against an in-memory view of that
+ * facility's bookings and commits the whole batch in one transaction, so a
+ * rush on a popular room no longer contends on the same rows and index pages
+ * request by request. A lane with more work goes to the back of the writer
+ * pool's queue after each batch, so busy facilities take turns.
+ *
+ * A request that fails in the database (e.g. an overlap with a booking
+ * written outside the sequencer) aborts the PostgreSQL transaction, and one
+ * that fails after changing entities cannot be undone in place; either is
+ * settled on its own and the rest of the batch is retried as one transaction
+ * on a fresh persistence context. A request rejected before it changed
+ * anything is simply dropped from the batch.
+ * Only when a commit itself fails are the requests replayed one transaction
+ * each. Callers wait at most {@code app.booking.sequencer.timeout} for their
+ * batch to start, then get a 503.
+ *
+ * When disabled, calls go straight to {@link BookingService}.
+ */
+@Service
+@Slf4j
+public class BookingSequencer {
+
+    private final BookingService      bookingService;
+    private final BookingRepository   bookingRepository;
+    private final BookingStatsService bookingStatsService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager       entityManager;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final ExecutorService writers;
+
+    private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public BookingSequencer(BookingService bookingService,
+                            BookingRepository bookingRepository,
+                            BookingStatsService bookingStatsService,
+                            TransactionTemplate transactionTemplate,
+                            EntityManager entityManager,
+                            @Value("${app.booking.sequencer.enabled:false}") boolean enabled,
+                            @Value("${app.booking.sequencer.batch-size:64}") int batchSize,
+                            @Value("${app.booking.sequencer.writers:4}") int writerThreads,
+                            @Value("${app.booking.sequencer.timeout:PT10S}") Duration timeout,
+                            @Value("${app.booking.sequencer.retry-after:PT2S}") Duration retryAfter) {
+        this.bookingService      = bookingService;
+        this.bookingRepository   = bookingRepository;
+        this.bookingStatsService = bookingStatsService;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager       = entityManager;
+        this.enabled   = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.timeout   = timeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.writers   = enabled ? Executors.newFixedThreadPool(Math.max(1, writerThreads), r -> {
+            Thread t = new Thread(r, "booking-writer");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writers != null) writers.shutdown();
+    }
+
+    // ── Entry points ──────────────────────────────────────────────────
+
+    public BookingResponse create(BookingRequest req, User currentUser) {
+        return create(req, currentUser, response -> {});
+    }
+
+    /** As {@link #create(BookingRequest, User)}; {@code onCreated} runs in the transaction that commits the booking. */
+    public BookingResponse create(BookingRequest req, User currentUser, Consumer<BookingResponse> onCreated) {
+        if (!enabled) return bookingService.create(req, currentUser, onCreated);
+
+        return submit(req.getFacilityId(), view -> {
+            Booking b = bookingService.createBooking(req, currentUser, view);
+            view.record(b);
+            BookingResponse response = BookingResponse.from(b);
+            onCreated.accept(response);
+            return response;
+        });
+    }
+
+    public BookingResponse update(Long id, UpdateBookingRequest req, User currentUser) {
+        if (!enabled) return bookingService.update(id, req, currentUser);
+
+        Optional<Long> facilityId = bookingRepository.findFacilityIdById(id);
+        if (facilityId.isEmpty()) return bookingService.update(id, req, currentUser);
+
+        return submit(facilityId.get(), view -> {
+            Booking b = bookingService.updateBooking(id, req, currentUser, view);
+            view.record(b);
+            return BookingResponse.from(b);
+        });
+    }
+
+    // ── Queueing ──────────────────────────────────────────────────────
+
+    private BookingResponse submit(Long facilityId, Function<FacilityView, BookingResponse> work) {
+        Pending pending = new Pending(work);
+        Lane lane = lanes.computeIfAbsent(facilityId, Lane::new);
+        lane.queue.add(pending);
+        lane.schedule();
+        return await(pending);
+    }
+
+    /**
+     * Waits for the request's outcome. A request still queued after the
+     * timeout is withdrawn with a 503; one already in a batch is waited for,
+     * since its transaction may commit.
+     */
+    private BookingResponse await(Pending pending) {
+        try {
+            return pending.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (pending.withdraw()) throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.withdraw()) throw busy();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("Bookings are busy, please try again shortly", retryAfterSeconds);
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException re) return re;
+        return new IllegalStateException(cause);
+    }
+
+    private record Pending(Function<FacilityView, BookingResponse> work,
+                           CompletableFuture<BookingResponse> result,
+                           AtomicInteger state) {
+        private static final int QUEUED = 0, TAKEN = 1, WITHDRAWN = 2;
+
+        Pending(Function<FacilityView, BookingResponse> work) {
+            this(work, new CompletableFuture<>(), new AtomicInteger(QUEUED));
+        }
+
+        /** Claims the request for a batch; false if its caller has given up. */
+        boolean take() {
+            return state.compareAndSet(QUEUED, TAKEN);
+        }
+
+        /** Gives up on the request; false if a writer has already taken it. */
+        boolean withdraw() {
+            return state.compareAndSet(QUEUED, WITHDRAWN);
+        }
+    }
+
+    /** Per-facility queue; at most one writer works on it at a time, one batch per turn. */
+    private final class Lane {
+        private final Long facilityId;
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(Long facilityId) {
+            this.facilityId = facilityId;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) writers.execute(this::runBatch);
+        }
+
+        private void runBatch() {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            try {
+                Pending next;
+                while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                    if (next.take()) batch.add(next);
+                }
+                if (!batch.isEmpty()) commit(facilityId, batch);
+            } catch (RuntimeException e) {
+                log.error("Booking batch for facility {} failed", facilityId, e);
+            } finally {
+                // Never leave a taken request's caller waiting
+                for (Pending p : batch) {
+                    p.result().completeExceptionally(new IllegalStateException("Booking batch failed"));
+                }
+                scheduled.set(false);
+            }
+            // Requeue behind other lanes if more is waiting, including a request added after the last poll
+            if (!queue.isEmpty()) schedule();
+        }
+    }
+
+    // ── Group commit ──────────────────────────────────────────────────
+
+    private void commit(Long facilityId, List<Pending> batch) {
+        List<Pending> remaining = batch;
+        while (!remaining.isEmpty()) remaining = attempt(facilityId, remaining);
+    }
+
+    /**
+     * Runs {@code batch} in one transaction and completes the requests it
+     * settles. Returns the requests to run again in a fresh transaction when
+     * one of them aborted this one.
+     */
+    private List<Pending> attempt(Long facilityId, List<Pending> batch) {
+        Map<Pending, Object> outcomes = new IdentityHashMap<>();
+        AtomicBoolean committed = new AtomicBoolean();
+        Pending[] aborted = new Pending[1];
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                trackCommit(committed);
+                // Counters are written once for the whole batch, just before it commits
+                List<BookingStatsService.Change> stats = bookingStatsService.deferToCommit();
+                FacilityView view = new FacilityView(facilityId);
+                for (Pending p : batch) {
+                    int statsMark = stats.size();
+                    try {
+                        outcomes.put(p, p.work().apply(view));
+                        // Written now, so unflushed changes below can only belong to a failed request
+                        entityManager.flush();
+                    } catch (RuntimeException e) {
+                        outcomes.put(p, e);
+                        // A failed statement leaves PostgreSQL rejecting everything else in this
+                        // transaction; unflushed changes would be written with the next request's.
+                        // Either way the others run again on a fresh persistence context.
+                        if (tx.isRollbackOnly() || hasUnflushedChanges()) {
+                            aborted[0] = p;
+                            tx.setRollbackOnly();
+                            return;
+                        }
+                        // Rejected before it changed anything; the batch carries on
+                        stats.subList(statsMark, stats.size()).clear();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            if (!committed.get()) {
+                log.debug("Booking batch for facility {} failed to commit, replaying singly: {}",
+                        facilityId, e.getMessage());
+                for (Pending p : batch) replaySingly(facilityId, p);
+                return List.of();
+            }
+            // Committed; only post-commit work failed, so every outcome stands
+            log.warn("After-commit work for a booking batch on facility {} failed: {}", facilityId, e.getMessage());
+        }
+
+        if (aborted[0] != null) {
+            Pending offender = aborted[0];
+            Object outcome = outcomes.get(offender);
+            if (outcome instanceof ConflictException || !isDatabaseFailure((RuntimeException) outcome)) {
+                // An overlap reported by the constraint, or a rule the request broke, is final
+                offender.result().completeExceptionally((RuntimeException) outcome);
+            } else {
+                replaySingly(facilityId, offender);
+            }
+            List<Pending> retry = new ArrayList<>(batch);
+            retry.remove(offender);
+            return retry;
+        }
+
+        for (Pending p : batch) {
+            Object outcome = outcomes.get(p);
+            if (outcome instanceof RuntimeException e) p.result().completeExceptionally(e);
+            else p.result().complete((BookingResponse) outcome);
+        }
+        return List.of();
+    }
+
+    private void replaySingly(Long facilityId, Pending p) {
+        AtomicBoolean committed = new AtomicBoolean();
+        BookingResponse[] response = new BookingResponse[1];
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                trackCommit(committed);
+                response[0] = p.work().apply(new FacilityView(facilityId));
+            });
+        } catch (RuntimeException e) {
+            if (!committed.get()) {
+                p.result().completeExceptionally(e);
+                return;
+            }
+            log.warn("After-commit work for a booking on facility {} failed: {}", facilityId, e.getMessage());
+        }
+        p.result().complete(response[0]);
+    }
+
+    /** Whether the current persistence context holds changes not yet flushed. */
+    private boolean hasUnflushedChanges() {
+        return entityManager.unwrap(Session.class).isDirty();
+    }
+
+    private static boolean isDatabaseFailure(RuntimeException e) {
+        return e instanceof DataAccessException || e instanceof PersistenceException;
+    }
+
+    /**
+     * Records whether the current transaction committed. Exceptions from
+     * after-commit callbacks reach the caller too, so they alone must not be
+     * read as a failed commit.
+     */
+    private static void trackCommit(AtomicBoolean committed) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                committed.set(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    // ── In-memory view ────────────────────────────────────────────────
+
+    /**
+     * The facility's active bookings per date, loaded once per batch and kept
+     * current as the batch's own writes land.
+     */
+    private final class FacilityView implements BookingService.ConflictCheck {
+        private final Long facilityId;
+        private final Map<LocalDate, Map<Long, Booking>> byDate = new HashMap<>();
+
+        FacilityView(Long facilityId) {
+            this.facilityId = facilityId;
+        }
+
+        @Override
+        public boolean isBooked(Long facilityId, LocalDate date,
+                                LocalTime start, LocalTime end, Long excludeId) {
+            if (!this.facilityId.equals(facilityId)) {
+                throw new IllegalStateException(
+                        "Facility " + facilityId + " checked against the view of facility " + this.facilityId);
+            }
+            DayOccupancy occupancy = new DayOccupancy();
+            for (Booking b : day(date).values()) {
+                if (!b.getId().equals(excludeId)) occupancy.add(b);
+            }
+            return occupancy.overlaps(start, end);
+        }
+
+        void record(Booking b) {
+            for (Map<Long, Booking> bookings : byDate.values()) bookings.remove(b.getId());
+            if (b.getStatus() == Status.CONFIRMED || b.getStatus() == Status.PENDING) {
+                day(b.getDate()).put(b.getId(), b);
+            }
+        }
+
+        private Map<Long, Booking> day(LocalDate date) {
+            return byDate.computeIfAbsent(date, d -> {
+                Map<Long, Booking> bookings = new LinkedHashMap<>();
+                for (Booking b : bookingRepository.findBookedSlots(facilityId, d)) {
+                    bookings.put(b.getId(), b);
+                }
+                return bookings;
+            });
+        }
+    }
+}
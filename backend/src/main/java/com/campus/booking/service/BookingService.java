@@ -1,10 +1,16 @@
 package com.campus.booking.service;
 
 import com.campus.booking.dto.request.BookingRequest;
+import com.campus.booking.dto.request.BookingSeriesRequest;
+import com.campus.booking.dto.request.BulkStatusRequest;
 import com.campus.booking.dto.request.UpdateBookingRequest;
 import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.dto.response.BookingSeriesResponse;
+import com.campus.booking.dto.response.BulkStatusResult;
 import com.campus.booking.entity.Booking;
 import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.BookingSeries;
+import com.campus.booking.entity.BookingSeries.Frequency;
 import com.campus.booking.entity.Facility;
 import com.campus.booking.entity.User;
 import com.campus.booking.entity.User.Role;
@@ -12,21 +18,29 @@ import com.campus.booking.exception.BadRequestException;
 import com.campus.booking.exception.ConflictException;
 import com.campus.booking.exception.ResourceNotFoundException;
 import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.BookingSeriesRepository;
 import com.campus.booking.repository.FacilityRepository;
 import com.campus.booking.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -35,30 +49,74 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final FacilityRepository facilityRepository;
     private final UserRepository userRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
     private final EmailService emailService;
+    private final SlotHoldService slotHoldService;
+    private final WaitlistService waitlistService;
+    private final BookingStatsService bookingStatsService;
 
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
 
+    private static final int MAX_SERIES_OCCURRENCES = 52;
+
+    private static final int MAX_DURATION_HOURS = 8;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE     = 200;
+
+    /** Status changes an admin may make; moving to the same status is always allowed. */
+    private static final Map<Status, Set<Status>> TRANSITIONS = Map.of(
+            Status.PENDING,   EnumSet.of(Status.CONFIRMED, Status.REJECTED, Status.CANCELLED),
+            Status.CONFIRMED, EnumSet.of(Status.PENDING, Status.REJECTED, Status.CANCELLED),
+            Status.REJECTED,  EnumSet.of(Status.PENDING, Status.CONFIRMED),
+            Status.CANCELLED, EnumSet.noneOf(Status.class));
+
+    /** PostgreSQL SQLSTATE for exclusion_violation. */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * Whether to query for conflicts before writing. The database constraint
+     * rejects overlaps either way; disabling this saves a round trip per write.
+     */
+    @Value("${app.booking.conflict-precheck:true}")
+    private boolean conflictPrecheck;
+
     // ── List / Get ────────────────────────────────────────────────────
 
+    /**
+     * One page of bookings, newest first, keyed on {@code (created_at, id)}.
+     * The cursor is the last row of the previous page, so each page is an
+     * index range scan no matter how deep the caller has paged. Non-admins
+     * only ever see their own bookings.
+     */
     @Transactional(readOnly = true)
-    public Map<String, Object> getAll(User currentUser) {
-        List<Booking> bookings = currentUser.getRole() == Role.ADMIN
-                ? bookingRepository.findAllByOrderByCreatedAtDesc()
-                : bookingRepository.findByUser_IdOrderByCreatedAtDesc(currentUser.getId());
+    public Map<String, Object> getAll(User currentUser, Long facilityId, String status, Long userId,
+                                      LocalDate from, LocalDate to, String cursor, Integer limit) {
+        boolean isAdmin = currentUser.getRole() == Role.ADMIN;
+        Long ownerId = isAdmin ? userId : currentUser.getId();
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
 
-        List<BookingResponse> list = bookings.stream().map(BookingResponse::from).toList();
+        Specification<Booking> spec = listFilter(facilityId, status, ownerId, from, to, decodeCursor(cursor));
+        List<Booking> rows = bookingRepository.findBy(spec, q -> q
+                .sortBy(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                .limit(pageSize + 1)
+                .all());
 
-        Long uid = currentUser.getRole() == Role.ADMIN ? null : currentUser.getId();
-        List<Object[]> statsList = bookingRepository.getStats(uid, LocalDate.now());
-        Object[] stats = statsList.isEmpty() ? new Object[]{0L, 0L, 0L, 0L, 0L} : statsList.get(0);
+        boolean hasMore = rows.size() > pageSize;
+        List<Booking> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<BookingResponse> list = page.stream().map(BookingResponse::from).toList();
 
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("data", list);
-        result.put("stats", buildStats(stats));
+        result.put("nextCursor", hasMore ? encodeCursor(page.get(page.size() - 1)) : null);
         return result;
     }
 
+    /** Counters for the current user, or global counters for admins. */
+    public Map<String, Object> getStats(User currentUser) {
+        return bookingStatsService.get(currentUser);
+    }
+
     @Transactional(readOnly = true)
     public BookingResponse getById(Long id, User currentUser) {
         Booking b = findBooking(id);
@@ -70,6 +128,22 @@ public class BookingService {
 
     @Transactional
     public BookingResponse create(BookingRequest req, User currentUser) {
+        return create(req, currentUser, response -> {});
+    }
+
+    /** As {@link #create(BookingRequest, User)}; {@code onCreated} runs in the booking's transaction. */
+    @Transactional
+    public BookingResponse create(BookingRequest req, User currentUser, Consumer<BookingResponse> onCreated) {
+        BookingResponse response = BookingResponse.from(createBooking(req, currentUser, precheck()));
+        onCreated.accept(response);
+        return response;
+    }
+
+    /**
+     * Validates and inserts a booking in the caller's transaction, testing
+     * overlaps with {@code conflicts}. Shared with {@link BookingSequencer}.
+     */
+    public Booking createBooking(BookingRequest req, User currentUser, ConflictCheck conflicts) {
         Facility facility = facilityRepository.findByIdAndIsActiveTrue(req.getFacilityId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Facility not found: " + req.getFacilityId()));
@@ -77,35 +151,16 @@ public class BookingService {
         LocalTime start = LocalTime.parse(req.getStartTime(), TIME_FMT);
         LocalTime end   = LocalTime.parse(req.getEndTime(),   TIME_FMT);
 
-        // Time validation
-        if (!end.isAfter(start)) {
-            throw new BadRequestException("End time must be after start time");
-        }
-        long durationHours = ChronoUnit.HOURS.between(start, end);
-        if (durationHours > 8) {
-            throw new BadRequestException("Booking duration cannot exceed 8 hours");
-        }
-
-        // Past date guard (entity annotation handles future/present on date field,
-        // but let's keep an explicit check for safety)
-        if (req.getDate().isBefore(LocalDate.now())) {
-            throw new BadRequestException("Booking date cannot be in the past");
-        }
+        validateSlot(facility, req.getDate(), start, end, req.getAttendees());
 
-        // Capacity check
-        if (req.getAttendees() != null && req.getAttendees() > facility.getCapacity()) {
-            throw new BadRequestException(
-                    "Attendees (" + req.getAttendees() + ") exceed facility capacity ("
-                    + facility.getCapacity() + ")");
-        }
-
-        // Conflict check
-        List<Booking> conflicts = bookingRepository.findConflicts(
-                facility.getId(), req.getDate(), start, end, null);
-        if (!conflicts.isEmpty()) {
+        // Conflict pre-check (the exclusion constraint is the source of truth)
+        if (conflicts.isBooked(facility.getId(), req.getDate(), start, end, null)) {
             throw new ConflictException(
                     "This facility is already booked during the requested time");
         }
+        if (slotHoldService.isHeldByOther(facility.getId(), req.getDate(), start, end, currentUser.getId())) {
+            throw new ConflictException("This time is temporarily held by another user");
+        }
 
         Status status = facility.isRequiresApproval() ? Status.PENDING : Status.CONFIRMED;
 
@@ -120,22 +175,126 @@ public class BookingService {
                 .attendees(req.getAttendees())
                 .build();
 
-        booking = bookingRepository.save(booking);
+        booking = persist(booking);
+        bookingStatsService.record(BookingStatsService.Change.created(booking));
+        slotHoldService.consume(facility.getId(), req.getDate(), start, end, currentUser.getId());
+
+        // Queued with the booking; delivered once it commits
+        emailService.queueBookingConfirmation(booking);
+
+        return booking;
+    }
+
+    // ── Recurring series ──────────────────────────────────────────────
+
+    /**
+     * Expands a recurrence rule into occurrences, checks them all against the
+     * facility's bookings from a single range query (when the pre-check is on)
+     * and against other users' holds, and inserts them as one JDBC batch.
+     * All-or-nothing: any clash rejects the whole series.
+     */
+    @Transactional
+    public BookingSeriesResponse createSeries(BookingSeriesRequest req, User currentUser) {
+        Facility facility = facilityRepository.findByIdAndIsActiveTrue(req.getFacilityId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Facility not found: " + req.getFacilityId()));
+
+        LocalTime start = LocalTime.parse(req.getStartTime(), TIME_FMT);
+        LocalTime end   = LocalTime.parse(req.getEndTime(),   TIME_FMT);
+        validateSlot(facility, req.getDate(), start, end, req.getAttendees());
+
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(req.getFrequency().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid frequency: " + req.getFrequency());
+        }
+        List<LocalDate> dates = expand(req, frequency);
+
+        // One range query covers every occurrence
+        if (conflictPrecheck) {
+            Map<LocalDate, DayOccupancy> byDate = new HashMap<>();
+            for (Booking b : bookingRepository.findBookedSlotsBetween(
+                    facility.getId(), dates.get(0), dates.get(dates.size() - 1))) {
+                byDate.computeIfAbsent(b.getDate(), d -> new DayOccupancy()).add(b);
+            }
+            List<String> clashes = dates.stream()
+                    .filter(d -> byDate.containsKey(d) && byDate.get(d).overlaps(start, end))
+                    .map(LocalDate::toString)
+                    .toList();
+            if (!clashes.isEmpty()) {
+                throw new ConflictException(
+                        "Facility already booked during the requested time on " + String.join(", ", clashes));
+            }
+        }
+        List<String> held = dates.stream()
+                .filter(d -> slotHoldService.isHeldByOther(facility.getId(), d, start, end, currentUser.getId()))
+                .map(LocalDate::toString)
+                .toList();
+        if (!held.isEmpty()) {
+            throw new ConflictException(
+                    "This time is temporarily held by another user on " + String.join(", ", held));
+        }
+
+        BookingSeries series = bookingSeriesRepository.save(BookingSeries.builder()
+                .user(currentUser)
+                .facility(facility)
+                .frequency(frequency)
+                .interval(req.getInterval() != null ? req.getInterval() : 1)
+                .startDate(dates.get(0))
+                .untilDate(dates.get(dates.size() - 1))
+                .startTime(start)
+                .endTime(end)
+                .occurrences(dates.size())
+                .purpose(req.getPurpose())
+                .build());
+
+        Status status = facility.isRequiresApproval() ? Status.PENDING : Status.CONFIRMED;
+        List<Booking> bookings = dates.stream()
+                .map(d -> Booking.builder()
+                        .user(currentUser)
+                        .facility(facility)
+                        .series(series)
+                        .date(d)
+                        .startTime(start)
+                        .endTime(end)
+                        .status(status)
+                        .purpose(req.getPurpose())
+                        .attendees(req.getAttendees())
+                        .build())
+                .toList();
+
+        bookings = persistAll(bookings);
+        bookingStatsService.record(bookings.stream().map(BookingStatsService.Change::created).toList());
+        for (LocalDate d : dates) {
+            slotHoldService.consume(facility.getId(), d, start, end, currentUser.getId());
+        }
 
-        // Fire-and-forget email
-        final Booking saved = booking;
-        emailService.sendBookingConfirmation(saved);
+        emailService.queueBookingConfirmations(bookings);
 
-        return BookingResponse.from(booking);
+        return BookingSeriesResponse.from(series, bookings.stream().map(BookingResponse::from).toList());
     }
 
     // ── Update ────────────────────────────────────────────────────────
 
     @Transactional
     public BookingResponse update(Long id, UpdateBookingRequest req, User currentUser) {
+        return BookingResponse.from(updateBooking(id, req, currentUser, precheck()));
+    }
+
+    /** Update counterpart of {@link #createBooking}. */
+    public Booking updateBooking(Long id, UpdateBookingRequest req, User currentUser,
+                                 ConflictCheck conflicts) {
         Booking booking = findBooking(id);
         boolean isAdmin = currentUser.getRole() == Role.ADMIN;
 
+        // Interval held before the edit; offered to the waitlist if it is given up
+        Status oldStatus   = booking.getStatus();
+        boolean wasActive  = isActive(oldStatus);
+        LocalDate oldDate  = booking.getDate();
+        LocalTime oldStart = booking.getStartTime();
+        LocalTime oldEnd   = booking.getEndTime();
+
         // Non-admins can only edit their own pending bookings
         if (!isAdmin) {
             if (!booking.getUser().getId().equals(currentUser.getId())) {
@@ -146,7 +305,14 @@ public class BookingService {
             }
         }
 
+        Status newStatus = oldStatus;
+        if (isAdmin && StringUtils.hasText(req.getStatus())) {
+            newStatus = parseStatus(req.getStatus());
+            checkTransition(oldStatus, newStatus);
+        }
+
         // Time change → re-run conflict check
+        boolean timeChecked = false;
         if (req.getStartTime() != null || req.getEndTime() != null) {
             LocalTime newStart = req.getStartTime() != null
                     ? LocalTime.parse(req.getStartTime(), TIME_FMT) : booking.getStartTime();
@@ -158,10 +324,9 @@ public class BookingService {
 
             LocalDate newDate = req.getDate() != null ? req.getDate() : booking.getDate();
 
-            List<Booking> conflicts = bookingRepository.findConflicts(
-                    booking.getFacility().getId(), newDate, newStart, newEnd, booking.getId());
-            if (!conflicts.isEmpty())
+            if (conflicts.isBooked(booking.getFacility().getId(), newDate, newStart, newEnd, booking.getId()))
                 throw new ConflictException("Facility already booked during the requested time");
+            timeChecked = true;
 
             booking.setStartTime(newStart);
             booking.setEndTime(newEnd);
@@ -170,29 +335,119 @@ public class BookingService {
             booking.setDate(req.getDate());
         }
 
+        // Re-activating a rejected booking takes its slot back
+        if (!timeChecked && !wasActive && isActive(newStatus)
+                && conflicts.isBooked(booking.getFacility().getId(), booking.getDate(),
+                        booking.getStartTime(), booking.getEndTime(), booking.getId())) {
+            throw new ConflictException("Facility already booked during the requested time");
+        }
+
         if (req.getPurpose()   != null) booking.setPurpose(req.getPurpose());
         if (req.getAttendees() != null) booking.setAttendees(req.getAttendees());
 
         // Admin extras
         if (isAdmin) {
             if (StringUtils.hasText(req.getAdminNotes())) booking.setAdminNotes(req.getAdminNotes());
-            if (StringUtils.hasText(req.getStatus())) {
-                try {
-                    booking.setStatus(Status.valueOf(req.getStatus().toUpperCase()));
-                } catch (IllegalArgumentException e) {
-                    throw new BadRequestException("Invalid status: " + req.getStatus());
-                }
-            }
+            booking.setStatus(newStatus);
         }
 
-        booking = bookingRepository.save(booking);
+        booking = persist(booking);
+        bookingStatsService.record(BookingStatsService.Change.of(booking, oldStatus, oldDate));
 
         // Status-update email (admin changed status)
         if (isAdmin && StringUtils.hasText(req.getStatus())) {
-            emailService.sendStatusUpdate(booking);
+            emailService.queueStatusUpdate(booking);
+        }
+
+        if (wasActive && (!isActive(booking.getStatus())
+                || !oldDate.equals(booking.getDate())
+                || !oldStart.equals(booking.getStartTime())
+                || !oldEnd.equals(booking.getEndTime()))) {
+            waitlistService.promote(booking.getFacility(), oldDate, oldStart, oldEnd);
+        }
+
+        return booking;
+    }
+
+    // ── Bulk status (admin) ───────────────────────────────────────────
+
+    /**
+     * Applies one status to many bookings with a single UPDATE. Each item must
+     * be allowed the same transition as a single update; items re-activated
+     * to CONFIRMED or PENDING are re-checked as a group against the affected
+     * facility days. Invalid and clashing items are reported and left
+     * untouched. Notifications go out as one batch.
+     */
+    @Transactional
+    public List<BulkStatusResult> bulkUpdateStatus(BulkStatusRequest req) {
+        Status target = parseStatus(req.getStatus());
+        String notes = StringUtils.hasText(req.getAdminNotes()) ? req.getAdminNotes() : null;
+
+        Set<Long> ids = new LinkedHashSet<>(req.getIds());
+        Map<Long, Booking> found = new HashMap<>();
+        for (Booking b : bookingRepository.findAllWithUserAndFacilityByIdIn(ids)) found.put(b.getId(), b);
+
+        Map<Long, BulkStatusResult> results = new LinkedHashMap<>();
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                results.put(id, bulkResult(id, "not_found", null, "Booking not found: " + id));
+            }
+        }
+
+        for (Booking b : found.values()) {
+            if (b.getStatus() != target && !TRANSITIONS.get(b.getStatus()).contains(target)) {
+                results.put(b.getId(), bulkResult(b.getId(), "invalid_transition",
+                        b.getStatus().name().toLowerCase(), transitionMessage(b.getStatus(), target)));
+            }
+        }
+
+        if (isActive(target)) {
+            List<Booking> candidates = found.values().stream()
+                    .filter(b -> !results.containsKey(b.getId()))
+                    .toList();
+            for (Booking b : conflictingActivations(candidates)) {
+                results.put(b.getId(), bulkResult(b.getId(), "conflict",
+                        b.getStatus().name().toLowerCase(),
+                        "Facility already booked during the requested time"));
+            }
+        }
+
+        List<Booking> toUpdate = found.values().stream()
+                .filter(b -> !results.containsKey(b.getId()))
+                .sorted(Comparator.comparing(Booking::getId))
+                .toList();
+
+        if (!toUpdate.isEmpty()) {
+            try {
+                bookingRepository.updateStatus(
+                        toUpdate.stream().map(Booking::getId).toList(), target, notes, LocalDateTime.now());
+            } catch (DataIntegrityViolationException e) {
+                if (isOverlapViolation(e)) {
+                    throw new ConflictException("Facility already booked during the requested time");
+                }
+                throw e;
+            }
+
+            // The UPDATE cleared the persistence context; mirror it on the detached copies
+            List<Booking> freed = new ArrayList<>();
+            List<BookingStatsService.Change> changes = new ArrayList<>(toUpdate.size());
+            for (Booking b : toUpdate) {
+                if (isActive(b.getStatus()) && !isActive(target)) freed.add(b);
+                changes.add(new BookingStatsService.Change(
+                        b.getUser().getId(), b.getStatus(), b.getDate(), target, b.getDate()));
+                b.setStatus(target);
+                if (notes != null) b.setAdminNotes(notes);
+                results.put(b.getId(), bulkResult(b.getId(), "updated", target.name().toLowerCase(), null));
+            }
+            bookingStatsService.record(changes);
+            emailService.queueStatusUpdates(toUpdate);
+
+            for (Booking b : freed) {
+                waitlistService.promote(b.getFacility(), b.getDate(), b.getStartTime(), b.getEndTime());
+            }
         }
 
-        return BookingResponse.from(booking);
+        return ids.stream().map(results::get).toList();
     }
 
     // ── Cancel ────────────────────────────────────────────────────────
@@ -202,33 +457,288 @@ public class BookingService {
         Booking booking = findBooking(id);
         enforceOwnerOrAdmin(booking, currentUser);
 
+        Status oldStatus  = booking.getStatus();
+        boolean wasActive = isActive(oldStatus);
         booking.setStatus(Status.CANCELLED);
-        bookingRepository.save(booking);
+        bookingRepository.saveAndFlush(booking);
+        bookingStatsService.record(BookingStatsService.Change.of(booking, oldStatus, booking.getDate()));
 
-        emailService.sendCancellationNotice(booking);
+        emailService.queueCancellationNotice(booking);
+
+        if (wasActive) {
+            waitlistService.promote(booking.getFacility(), booking.getDate(),
+                    booking.getStartTime(), booking.getEndTime());
+        }
     }
 
     // ── Helpers ───────────────────────────────────────────────────────
 
+    record Cursor(LocalDateTime createdAt, Long id) {}
+
+    /**
+     * Validated list filter shared by the paged list and the export;
+     * {@code after} is null for the first page.
+     */
+    Specification<Booking> listFilter(Long facilityId, String statusParam, Long userId,
+                                      LocalDate from, LocalDate to, Cursor after) {
+        Status status = null;
+        if (StringUtils.hasText(statusParam)) {
+            try {
+                status = Status.valueOf(statusParam.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid status: " + statusParam);
+            }
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+
+        Status statusFilter = status;
+        return (root, query, cb) -> {
+            // BookingResponse reads both associations; fetch them with the page, not per row
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user");
+                root.fetch("facility");
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (facilityId != null)
+                predicates.add(cb.equal(root.get("facility").get("id"), facilityId));
+            if (userId != null)
+                predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (statusFilter != null)
+                predicates.add(cb.equal(root.get("status"), statusFilter));
+            if (from != null)
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), from));
+            if (to != null)
+                predicates.add(cb.lessThanOrEqualTo(root.get("date"), to));
+
+            // Row-value comparison (created_at, id) < (:createdAt, :id), spelled out for JPQL
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), after.createdAt()),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), after.createdAt()),
+                                cb.lessThan(root.get("id"), after.id()))
+                ));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String encodeCursor(Booking last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /** Statuses that occupy their slot. */
+    private static boolean isActive(Status status) {
+        return status == Status.CONFIRMED || status == Status.PENDING;
+    }
+
+    /**
+     * Bookings in {@code candidates} that cannot become active: checked
+     * against every active booking on the affected facility days (one query)
+     * and against each other, in id order.
+     */
+    private List<Booking> conflictingActivations(Collection<Booking> candidates) {
+        List<Booking> reactivated = candidates.stream()
+                .filter(b -> b.getStatus() != Status.CONFIRMED && b.getStatus() != Status.PENDING)
+                .sorted(Comparator.comparing(Booking::getId))
+                .toList();
+        if (reactivated.isEmpty()) return List.of();
+
+        Set<Long> facilityIds = new HashSet<>();
+        LocalDate from = null, to = null;
+        for (Booking b : reactivated) {
+            facilityIds.add(b.getFacility().getId());
+            if (from == null || b.getDate().isBefore(from)) from = b.getDate();
+            if (to   == null || b.getDate().isAfter(to))    to   = b.getDate();
+        }
+
+        Map<String, DayOccupancy> days = new HashMap<>();
+        for (Booking b : bookingRepository.findBookedSlotsForFacilitiesBetween(facilityIds, from, to)) {
+            days.computeIfAbsent(b.getFacility().getId() + "@" + b.getDate(), k -> new DayOccupancy()).add(b);
+        }
+
+        List<Booking> conflicting = new ArrayList<>();
+        for (Booking b : reactivated) {
+            DayOccupancy day = days.computeIfAbsent(
+                    b.getFacility().getId() + "@" + b.getDate(), k -> new DayOccupancy());
+            if (day.overlaps(b.getStartTime(), b.getEndTime())) {
+                conflicting.add(b);
+            } else {
+                day.add(b.getId(), b.getStartTime(), b.getEndTime(), Status.CONFIRMED);
+            }
+        }
+        return conflicting;
+    }
+
+    private static Status parseStatus(String value) {
+        try {
+            return Status.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status: " + value);
+        }
+    }
+
+    private static void checkTransition(Status from, Status to) {
+        if (from != to && !TRANSITIONS.get(from).contains(to)) {
+            throw new BadRequestException(transitionMessage(from, to));
+        }
+    }
+
+    private static String transitionMessage(Status from, Status to) {
+        return "Cannot change a " + from.name().toLowerCase() + " booking to " + to.name().toLowerCase();
+    }
+
+    private static BulkStatusResult bulkResult(Long id, String outcome, String status, String message) {
+        return BulkStatusResult.builder().id(id).outcome(outcome).status(status).message(message).build();
+    }
+
+    /** Range rules shared by bookings, holds and waitlist entries. */
+    static void validateTimes(LocalTime start, LocalTime end) {
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("End time must be after start time");
+        }
+        if (ChronoUnit.HOURS.between(start, end) > MAX_DURATION_HOURS) {
+            throw new BadRequestException("Booking duration cannot exceed " + MAX_DURATION_HOURS + " hours");
+        }
+    }
+
+    /** Booking rules for a facility slot; also applied to waitlist entries when they join and when promoted. */
+    static void validateSlot(Facility facility, LocalDate date,
+                             LocalTime start, LocalTime end, Integer attendees) {
+        validateTimes(start, end);
+
+        // Past date guard (entity annotation handles future/present on date field,
+        // but let's keep an explicit check for safety)
+        if (date.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Booking date cannot be in the past");
+        }
+
+        // Capacity check
+        if (attendees != null && attendees > facility.getCapacity()) {
+            throw new BadRequestException(
+                    "Attendees (" + attendees + ") exceed facility capacity ("
+                    + facility.getCapacity() + ")");
+        }
+    }
+
+    private List<LocalDate> expand(BookingSeriesRequest req, Frequency frequency) {
+        if (req.getCount() == null && req.getUntilDate() == null) {
+            throw new BadRequestException("Either count or untilDate is required");
+        }
+        int interval = req.getInterval() != null ? req.getInterval() : 1;
+        int limit = req.getCount() != null ? req.getCount() : MAX_SERIES_OCCURRENCES;
+        if (limit > MAX_SERIES_OCCURRENCES) {
+            throw new BadRequestException(
+                    "A series cannot have more than " + MAX_SERIES_OCCURRENCES + " occurrences");
+        }
+
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate d = req.getDate();
+        while (dates.size() < limit && (req.getUntilDate() == null || !d.isAfter(req.getUntilDate()))) {
+            dates.add(d);
+            d = frequency == Frequency.WEEKLY ? d.plusWeeks(interval) : d.plusDays(interval);
+        }
+        if (dates.isEmpty()) {
+            throw new BadRequestException("untilDate must not be before the first occurrence");
+        }
+        if (req.getCount() == null && !d.isAfter(req.getUntilDate())) {
+            throw new BadRequestException(
+                    "A series cannot have more than " + MAX_SERIES_OCCURRENCES + " occurrences");
+        }
+        return dates;
+    }
+
+    /** Overlap test used by the write paths; {@code excludeId} is the booking being edited. */
+    @FunctionalInterface
+    public interface ConflictCheck {
+        ConflictCheck NONE = (facilityId, date, start, end, excludeId) -> false;
+
+        boolean isBooked(Long facilityId, LocalDate date,
+                         LocalTime start, LocalTime end, Long excludeId);
+    }
+
+    private ConflictCheck precheck() {
+        return conflictPrecheck ? this::isBooked : ConflictCheck.NONE;
+    }
+
     private Booking findBooking(Long id) {
-        return bookingRepository.findById(id)
+        return bookingRepository.findWithUserAndFacilityById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + id));
     }
 
+    /**
+     * Saves and flushes so that a violation of the booking exclusion
+     * constraint surfaces here, as a {@link ConflictException}, rather than
+     * at commit time.
+     */
+    private Booking persist(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("Facility already booked during the requested time");
+            }
+            throw e;
+        }
+    }
+
+    /** Batch counterpart of {@link #persist}. */
+    private List<Booking> persistAll(List<Booking> bookings) {
+        try {
+            List<Booking> saved = bookingRepository.saveAll(bookings);
+            bookingRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException("Facility already booked during the requested time");
+            }
+            throw e;
+        }
+    }
+
+    static boolean isOverlapViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Overlap test against the facility-day occupancy bitmap; the exact
+     * intervals are only compared when a 30-minute cell is shared.
+     */
+    private boolean isBooked(Long facilityId, LocalDate date,
+                             LocalTime start, LocalTime end, Long excludeId) {
+        DayOccupancy occupancy = new DayOccupancy();
+        for (Booking b : bookingRepository.findBookedSlots(facilityId, date)) {
+            if (!b.getId().equals(excludeId)) occupancy.add(b);
+        }
+        return occupancy.overlaps(start, end);
+    }
+
     private void enforceOwnerOrAdmin(Booking b, User currentUser) {
         if (currentUser.getRole() != Role.ADMIN
                 && !b.getUser().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("Access denied");
         }
     }
-
-    private Map<String, Object> buildStats(Object[] row) {
-        Map<String, Object> stats = new LinkedHashMap<>();
-        stats.put("total",     row[0] != null ? ((Number) row[0]).longValue() : 0L);
-        stats.put("confirmed", row[1] != null ? ((Number) row[1]).longValue() : 0L);
-        stats.put("pending",   row[2] != null ? ((Number) row[2]).longValue() : 0L);
-        stats.put("cancelled", row[3] != null ? ((Number) row[3]).longValue() : 0L);
-        stats.put("upcoming",  row[4] != null ? ((Number) row[4]).longValue() : 0L);
-        return stats;
-    }
 }
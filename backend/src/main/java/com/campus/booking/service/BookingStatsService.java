@@ -0,0 +1,213 @@
+package com.campus.booking.service;
+
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.BookingStats;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.repository.BookingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Booking counters kept current by the write paths instead of aggregated
+ * over the bookings table on every read.
+ *
+ * Writers call {@link #record} inside their own transaction, so counters
+ * commit or roll back with the booking change. "Upcoming" depends on the
+ * date, so a nightly job rolls it forward by subtracting the confirmed
+ * bookings of the day(s) that just passed. Writes classify against the
+ * stored {@code as_of} date rather than the clock, so a write made around
+ * midnight is counted the way the roll-forward will later undo it.
+ *
+ * Writers and maintenance are fenced by a PostgreSQL advisory lock: a
+ * rebuild or roll-forward waits for the counter writes in flight to commit
+ * and holds back new ones until it is done, so no booking change is lost or
+ * counted twice even when it runs while requests are being served, and two
+ * nodes starting on an empty table do not both rebuild it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingStatsService {
+
+    private static final int GLOBAL_STRIPES = 16;
+
+    /** Transaction resource key for changes held back by {@link #deferToCommit}. */
+    private static final Object DEFERRED = new Object();
+
+    private final BookingStatsRepository repository;
+
+    /** One booking moving from (oldStatus, oldDate) to (newStatus, newDate); old is null for a new booking. */
+    public record Change(Long userId, Status oldStatus, LocalDate oldDate, Status newStatus, LocalDate newDate) {
+
+        public static Change created(Booking b) {
+            return new Change(b.getUser().getId(), null, null, b.getStatus(), b.getDate());
+        }
+
+        public static Change of(Booking b, Status oldStatus, LocalDate oldDate) {
+            return new Change(b.getUser().getId(), oldStatus, oldDate, b.getStatus(), b.getDate());
+        }
+    }
+
+    // ── Write side ────────────────────────────────────────────────────
+
+    public void record(Change change) {
+        record(List.of(change));
+    }
+
+    /**
+     * Applies the changes in the caller's transaction: one upsert per
+     * affected user plus one on a random global stripe. Rows are touched in
+     * key order to keep lock ordering consistent between writers.
+     */
+    @SuppressWarnings("unchecked")
+    public void record(Collection<Change> changes) {
+        List<Change> deferred = (List<Change>) TransactionSynchronizationManager.getResource(DEFERRED);
+        if (deferred != null) {
+            deferred.addAll(changes);
+            return;
+        }
+        applyNow(changes);
+    }
+
+    /**
+     * Holds back the changes recorded for the rest of the current transaction
+     * and applies them as one {@link #record(Collection)} just before it
+     * commits, for transactions that make many booking changes: each counter
+     * row is then locked once, late and in key order. The returned list is
+     * live, so a caller can drop the changes of work it abandons.
+     */
+    public List<Change> deferToCommit() {
+        List<Change> deferred = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(DEFERRED, deferred);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                TransactionSynchronizationManager.unbindResource(DEFERRED);
+                applyNow(deferred);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DEFERRED);
+            }
+        });
+        return deferred;
+    }
+
+    private void applyNow(Collection<Change> changes) {
+        if (changes.isEmpty()) return;
+        repository.lockShared();
+        LocalDate asOf = repository.findAsOf().orElseGet(LocalDate::now);
+        long[] global = new long[5];
+        Map<Long, long[]> perUser = new TreeMap<>();
+
+        for (Change c : changes) {
+            long[] user = perUser.computeIfAbsent(c.userId(), k -> new long[5]);
+            if (c.oldStatus() != null) {
+                apply(user,   c.oldStatus(), c.oldDate(), asOf, -1);
+                apply(global, c.oldStatus(), c.oldDate(), asOf, -1);
+            }
+            apply(user,   c.newStatus(), c.newDate(), asOf, 1);
+            apply(global, c.newStatus(), c.newDate(), asOf, 1);
+        }
+
+        increment(-1L - ThreadLocalRandom.current().nextInt(GLOBAL_STRIPES), global);
+        perUser.forEach(this::increment);
+    }
+
+    // ── Read side ─────────────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> get(User currentUser) {
+        if (currentUser.getRole() == Role.ADMIN) {
+            List<Object[]> rows = repository.sumGlobal();
+            Object[] row = rows.isEmpty() ? new Object[]{0L, 0L, 0L, 0L, 0L} : rows.get(0);
+            return toMap(number(row[0]), number(row[1]), number(row[2]), number(row[3]), number(row[4]));
+        }
+        return repository.findById(currentUser.getId())
+                .map(s -> toMap(s.getTotal(), s.getConfirmed(), s.getPending(), s.getCancelled(), s.getUpcoming()))
+                .orElseGet(() -> toMap(0, 0, 0, 0, 0));
+    }
+
+    // ── Maintenance ───────────────────────────────────────────────────
+
+    /**
+     * Moves "upcoming" up to today. Catches up on any days missed while the
+     * application was down; the exclusive fence makes it safe to run on
+     * several nodes at once. Builds the table from scratch the first time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.stats.roll-forward-cron:0 0 0 * * *}")
+    @Transactional
+    public void rollForward() {
+        LocalDate today = LocalDate.now();
+        repository.lockExclusive();
+        Optional<LocalDate> asOf = repository.findAsOf();
+        if (asOf.isEmpty()) {
+            rebuild();
+            return;
+        }
+        if (!asOf.get().isBefore(today)) return;
+
+        int rows = repository.rollForward(asOf.get(), today);
+        repository.setAsOf(today);
+        log.debug("Booking stats rolled forward from {} to {} ({} rows)", asOf.get(), today, rows);
+    }
+
+    /** Recomputes every counter from the bookings table in one pass. */
+    @Transactional
+    public void rebuild() {
+        repository.lockExclusive();
+        repository.deleteAllRows();
+        int rows = repository.rebuildFromBookings(LocalDate.now());
+        log.info("Booking stats rebuilt ({} rows)", rows);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private static void apply(long[] counters, Status status, LocalDate date, LocalDate asOf, int sign) {
+        counters[0] += sign;
+        switch (status) {
+            case CONFIRMED -> {
+                counters[1] += sign;
+                if (!date.isBefore(asOf)) counters[4] += sign;
+            }
+            case PENDING   -> counters[2] += sign;
+            case CANCELLED -> counters[3] += sign;
+            default -> { }
+        }
+    }
+
+    private void increment(Long key, long[] d) {
+        if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0 && d[4] == 0) return;
+        repository.increment(key, d[0], d[1], d[2], d[3], d[4]);
+    }
+
+    private static long number(Object o) {
+        return o != null ? ((Number) o).longValue() : 0L;
+    }
+
+    private static Map<String, Object> toMap(long total, long confirmed, long pending,
+                                             long cancelled, long upcoming) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total",     total);
+        stats.put("confirmed", confirmed);
+        stats.put("pending",   pending);
+        stats.put("cancelled", cancelled);
+        stats.put("upcoming",  upcoming);
+        return stats;
+    }
+}
@@ -0,0 +1,203 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.SlotDto;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Occupancy of one facility on one day as a bitmap of 30-minute cells.
+ * Bit {@code i} covers {@code [i*30, i*30+30)} minutes past midnight, so a
+ * whole day fits in a single {@code long}. The booking id and status that
+ * last claimed each cell are kept in small side tables, which reproduces the
+ * "last overlapping booking wins" overlay of the original slot grid.
+ *
+ * Short-lived slot holds are tracked in a separate bitmap: a held cell that
+ * is not booked renders as {@code "held"}.
+ *
+ * Booking times are not required to be on a 30-minute boundary; the exact
+ * intervals are kept alongside the bitmap and only consulted when a cell is
+ * shared by unaligned bookings or an unaligned range is requested.
+ */
+public final class DayOccupancy {
+
+    public static final int SLOT_MINUTES  = 30;
+    public static final int SLOTS_PER_DAY = 48;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final Status[] STATUSES = Status.values();
+
+    /** "HH:mm" labels for every minute of the day, 1440 wrapping to "00:00". */
+    private static final String[] LABELS = new String[MINUTES_PER_DAY + 1];
+
+    static {
+        for (int m = 0; m <= MINUTES_PER_DAY; m++) {
+            int h = (m / 60) % 24;
+            int mm = m % 60;
+            LABELS[m] = (h < 10 ? "0" : "") + h + ":" + (mm < 10 ? "0" : "") + mm;
+        }
+    }
+
+    private long occupied;
+    private long held;
+    private final long[] bookingIds = new long[SLOTS_PER_DAY];
+    private final byte[] statuses   = new byte[SLOTS_PER_DAY];
+
+    private final List<Span> spans = new ArrayList<>();
+    private boolean aligned = true;
+
+    private record Span(long bookingId, int start, int end, Status status) {}
+
+    // ── Construction ──────────────────────────────────────────────────
+
+    /** Builds the occupancy from bookings ordered by start time. */
+    public static DayOccupancy of(List<Booking> bookings) {
+        DayOccupancy occupancy = new DayOccupancy();
+        for (Booking b : bookings) occupancy.add(b);
+        return occupancy;
+    }
+
+    public void add(Booking b) {
+        add(b.getId(), b.getStartTime(), b.getEndTime(), b.getStatus());
+    }
+
+    public void add(Long bookingId, LocalTime start, LocalTime end, Status status) {
+        int s = minuteOf(start);
+        int e = minuteOf(end);
+        if (e <= s) return;
+
+        long id = bookingId != null ? bookingId : 0L;
+        spans.add(new Span(id, s, e, status));
+        if (s % SLOT_MINUTES != 0 || e % SLOT_MINUTES != 0) aligned = false;
+
+        long mask = cellMask(s, e);
+        occupied |= mask;
+        for (long m = mask; m != 0; m &= m - 1) {
+            int i = Long.numberOfTrailingZeros(m);
+            bookingIds[i] = id;
+            statuses[i]   = (byte) status.ordinal();
+        }
+    }
+
+    /** Marks {@code [start, end)} as temporarily held (see {@link SlotHoldService}). */
+    public void hold(LocalTime start, LocalTime end) {
+        int s = minuteOf(start);
+        int e = minuteOf(end);
+        if (e > s) held |= cellMask(s, e);
+    }
+
+    // ── Queries ───────────────────────────────────────────────────────
+
+    /** True if any booking overlaps {@code [start, end)}. */
+    public boolean overlaps(LocalTime start, LocalTime end) {
+        int s = minuteOf(start);
+        int e = minuteOf(end);
+        if (e <= s) return false;
+
+        if ((occupied & cellMask(s, e)) == 0) return false;
+        if (aligned && s % SLOT_MINUTES == 0 && e % SLOT_MINUTES == 0) return true;
+
+        // A shared cell is not proof of overlap when times are unaligned
+        for (Span span : spans) {
+            if (span.start() < e && span.end() > s) return true;
+        }
+        return false;
+    }
+
+    /** Number of booked 30-minute slots in the grid {@code [from, to)}. */
+    public int bookedCount(LocalTime from, LocalTime to) {
+        int s = minuteOf(from);
+        int e = minuteOf(to);
+        if (s % SLOT_MINUTES == 0) {
+            int first = s / SLOT_MINUTES;
+            int count = Math.max(0, (e - s) / SLOT_MINUTES);
+            return Long.bitCount(occupied & rangeMask(first, first + count));
+        }
+        int booked = 0;
+        for (int a = s; a + SLOT_MINUTES <= e; a += SLOT_MINUTES) {
+            if (lastOverlapping(a, a + SLOT_MINUTES) != null) booked++;
+        }
+        return booked;
+    }
+
+    /** Number of held, unbooked 30-minute slots in an aligned grid {@code [from, to)}. */
+    public int heldCount(LocalTime from, LocalTime to) {
+        int s = minuteOf(from);
+        int e = minuteOf(to);
+        if (held == 0 || s % SLOT_MINUTES != 0) return 0;
+        int first = s / SLOT_MINUTES;
+        int count = Math.max(0, (e - s) / SLOT_MINUTES);
+        return Long.bitCount(held & ~occupied & rangeMask(first, first + count));
+    }
+
+    /** Total 30-minute slots in the grid {@code [from, to)}. */
+    public static int slotCount(LocalTime from, LocalTime to) {
+        return Math.max(0, (minuteOf(to) - minuteOf(from)) / SLOT_MINUTES);
+    }
+
+    /**
+     * Renders the grid {@code [from, to)} as 30-minute slots, each carrying
+     * the status and id of the booking that occupies it.
+     */
+    public List<SlotDto> toSlots(LocalTime from, LocalTime to) {
+        int s = minuteOf(from);
+        int e = minuteOf(to);
+        List<SlotDto> slots = new ArrayList<>(Math.max(0, (e - s) / SLOT_MINUTES));
+
+        for (int a = s; a + SLOT_MINUTES <= e; a += SLOT_MINUTES) {
+            SlotDto slot = new SlotDto(LABELS[a], LABELS[a + SLOT_MINUTES], "available", null);
+            if (a % SLOT_MINUTES == 0) {
+                int i = a / SLOT_MINUTES;
+                if ((occupied & (1L << i)) != 0) {
+                    slot.setStatus(STATUSES[statuses[i]].name().toLowerCase());
+                    slot.setBookingId(bookingIds[i]);
+                } else if ((held & (1L << i)) != 0) {
+                    slot.setStatus("held");
+                }
+            } else {
+                Span span = lastOverlapping(a, a + SLOT_MINUTES);
+                if (span != null) {
+                    slot.setStatus(span.status().name().toLowerCase());
+                    slot.setBookingId(span.bookingId());
+                }
+            }
+            slots.add(slot);
+        }
+        return slots;
+    }
+
+    public long bits() {
+        return occupied;
+    }
+
+    // ── Bit helpers ───────────────────────────────────────────────────
+
+    /** Cells overlapped by the minute interval {@code [start, end)}. */
+    public static long cellMask(int start, int end) {
+        int first = start / SLOT_MINUTES;
+        int last  = (end + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        return rangeMask(first, Math.min(last, SLOTS_PER_DAY));
+    }
+
+    /** Bits {@code [from, to)} set. */
+    public static long rangeMask(int from, int to) {
+        if (to <= from) return 0L;
+        long upper = to >= 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+
+    public static int minuteOf(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    private Span lastOverlapping(int start, int end) {
+        Span found = null;
+        for (Span span : spans) {
+            if (span.start() < end && span.end() > start) found = span;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,225 @@
+package com.campus.booking.service;
+
+import com.campus.booking.entity.EmailOutboxMessage;
+import com.campus.booking.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers queued emails from {@code email_outbox}.
+ *
+ * Each round claims a batch of due messages with {@code FOR UPDATE SKIP
+ * LOCKED} and leases them by pushing their due time forward, then commits,
+ * so no transaction is open while talking to the mail server and other
+ * nodes skip the batch. The batch goes out over a single SMTP connection.
+ * Delivered messages are marked sent. Failed ones are retried with
+ * exponential backoff until {@code max-attempts}, then marked failed. A
+ * node that dies mid-batch leaves its lease to expire, after which the
+ * messages are picked up again, so delivery is at least once.
+ *
+ * Delivery runs on the dispatcher's own thread rather than the shared
+ * scheduler, so a slow mail server delays email only, not the other
+ * {@code @Scheduled} jobs; a poll that finds the previous round still
+ * running is skipped.
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String fromAddress;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBase;
+    private final Duration retryMax;
+    private final Duration retention;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "email-outbox");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.mail.from}") String fromAddress,
+                                 @Value("${app.mail.enabled:false}") boolean enabled,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.mail.outbox.lease:PT5M}") Duration lease,
+                                 @Value("${app.mail.outbox.retry-base:PT30S}") Duration retryBase,
+                                 @Value("${app.mail.outbox.retry-max:PT1H}") Duration retryMax,
+                                 @Value("${app.mail.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fromAddress = fromAddress;
+        this.enabled     = enabled;
+        this.batchSize   = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease       = lease;
+        this.retryBase   = retryBase;
+        this.retryMax    = retryMax;
+        this.retention   = retention;
+    }
+
+    /**
+     * Drains everything due, one batch per connection to the mail server;
+     * stops early when a whole batch fails, since the next would too.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+        worker.execute(() -> {
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                log.warn("Email outbox round failed: {}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void drain() {
+        List<EmailOutboxMessage> batch;
+        int sent;
+        do {
+            batch = claim();
+            sent = batch.isEmpty() ? 0 : deliver(batch);
+        } while (batch.size() == batchSize && sent > 0);
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    public void purgeSent() {
+        int deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) log.debug("Purged {} delivered emails from the outbox", deleted);
+    }
+
+    // ── Claim / deliver / settle ──────────────────────────────────────
+
+    private List<EmailOutboxMessage> claim() {
+        return transactionTemplate.execute(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = outboxRepository.lockDue(now, batchSize);
+            if (!due.isEmpty()) {
+                outboxRepository.lease(due.stream().map(EmailOutboxMessage::getId).toList(), now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    /** Sends a claimed batch and records the outcome; returns how many went out. */
+    private int deliver(List<EmailOutboxMessage> batch) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+
+        for (EmailOutboxMessage m : batch) {
+            try {
+                ids.put(mime(m), m.getId());
+            } catch (MessagingException e) {
+                failures.put(m.getId(), "Could not build message: " + e.getMessage());
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            try {
+                // One connection for the whole batch
+                mailSender.send(ids.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    ids.values().forEach(id -> failures.put(id, e.getMessage()));
+                } else {
+                    e.getFailedMessages().forEach((msg, cause) -> {
+                        Long id = msg instanceof MimeMessage mm ? ids.get(mm) : null;
+                        if (id != null) failures.put(id, cause.getMessage());
+                    });
+                }
+            } catch (MailException e) {
+                // Connection or authentication failure: nothing in the batch went out
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+        }
+
+        settle(batch, failures);
+        return batch.size() - failures.size();
+    }
+
+    private void settle(List<EmailOutboxMessage> batch, Map<Long, String> failures) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutboxMessage m : outboxRepository.findAllById(
+                    batch.stream().map(EmailOutboxMessage::getId).toList())) {
+                m.setAttempts(m.getAttempts() + 1);
+                String error = failures.get(m.getId());
+                if (error == null) {
+                    m.setStatus(EmailOutboxMessage.Status.SENT);
+                    m.setSentAt(now);
+                    m.setLastError(null);
+                } else {
+                    m.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+                    if (m.getAttempts() >= maxAttempts) {
+                        m.setStatus(EmailOutboxMessage.Status.FAILED);
+                        log.warn("Giving up on email {} to {} after {} attempts: {}",
+                                m.getId(), m.getRecipient(), m.getAttempts(), error);
+                    } else {
+                        m.setNextAttemptAt(now.plus(backoff(m.getAttempts())));
+                    }
+                }
+            }
+        });
+
+        int sent = batch.size() - failures.size();
+        if (failures.isEmpty()) log.debug("Sent {} emails", sent);
+        else log.warn("Sent {} of {} emails; {} will be retried or have failed", sent, batch.size(), failures.size());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    /** {@code retry-base} doubled per attempt, capped at {@code retry-max}. */
+    private Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 20);
+        Duration delay = retryBase.multipliedBy(1L << shift);
+        return delay.compareTo(retryMax) > 0 ? retryMax : delay;
+    }
+
+    private MimeMessage mime(EmailOutboxMessage m) throws MessagingException {
+        MimeMessage msg = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(m.getRecipient());
+        helper.setSubject(m.getSubject());
+        helper.setText(m.getBody(), true);
+        return msg;
+    }
+}
@@ -1,25 +1,31 @@
 package com.campus.booking.service;
 
 import com.campus.booking.entity.Booking;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import lombok.extern.slf4j.Slf4j;
+import com.campus.booking.entity.EmailOutboxMessage;
+import com.campus.booking.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.format.DateTimeFormatter;
-
+import java.util.List;
+
+/**
+ * Renders booking notifications and queues them in the email outbox.
+ *
+ * Every method writes its rows in the caller's transaction, while the
+ * booking and its associations are still attached, so a notification
+ * exists if and only if the change it reports commits.
+ * {@link EmailOutboxDispatcher} delivers them; nothing here talks to the
+ * mail server.
+ */
 @Service
-@Slf4j
+@RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from}")
-    private String fromAddress;
+    private final EmailOutboxRepository outboxRepository;
 
     @Value("${app.mail.enabled:false}")
     private boolean enabled;
@@ -27,14 +33,22 @@ public class EmailService {
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MMMM d, yyyy");
     private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueBookingConfirmation(Booking booking) {
+        if (!enabled) return;
+
+        outboxRepository.save(confirmation(booking));
     }
 
-    @Async
-    public void sendBookingConfirmation(Booking booking) {
-        if (!enabled) return;
+    /** One confirmation per occurrence of a recurring series, queued as one batch insert. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueBookingConfirmations(List<Booking> bookings) {
+        if (!enabled || bookings.isEmpty()) return;
+
+        outboxRepository.saveAll(bookings.stream().map(this::confirmation).toList());
+    }
 
+    private EmailOutboxMessage confirmation(Booking booking) {
         String statusLabel  = booking.getStatus().name().equals("CONFIRMED")
                 ? "Confirmed" : "Submitted (Pending Approval)";
         String subject = String.format("Booking #%d – %s | %s",
@@ -52,13 +66,25 @@ public class EmailService {
                 booking.getId()
         );
 
-        send(booking.getUser().getEmail(), subject, html);
+        return message(booking, subject, html);
     }
 
-    @Async
-    public void sendStatusUpdate(Booking booking) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueStatusUpdate(Booking booking) {
         if (!enabled) return;
 
+        outboxRepository.save(statusUpdate(booking));
+    }
+
+    /** Status updates for a bulk admin action, queued as one batch insert. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueStatusUpdates(List<Booking> bookings) {
+        if (!enabled || bookings.isEmpty()) return;
+
+        outboxRepository.saveAll(bookings.stream().map(this::statusUpdate).toList());
+    }
+
+    private EmailOutboxMessage statusUpdate(Booking booking) {
         String subject = String.format("Booking #%d Status Updated: %s | %s",
                 booking.getId(), booking.getStatus().name(), booking.getFacility().getName());
 
@@ -74,11 +100,11 @@ public class EmailService {
                 booking.getId()
         );
 
-        send(booking.getUser().getEmail(), subject, html);
+        return message(booking, subject, html);
     }
 
-    @Async
-    public void sendCancellationNotice(Booking booking) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueCancellationNotice(Booking booking) {
         if (!enabled) return;
 
         String subject = String.format("Booking #%d Cancelled | %s",
@@ -96,24 +122,18 @@ public class EmailService {
                 booking.getId()
         );
 
-        send(booking.getUser().getEmail(), subject, html);
+        outboxRepository.save(message(booking, subject, html));
     }
 
     // ── Internals ─────────────────────────────────────────────────────
 
-    private void send(String to, String subject, String html) {
-        try {
-            MimeMessage msg = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(msg, true, "UTF-8");
-            helper.setFrom(fromAddress);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(html, true);
-            mailSender.send(msg);
-            log.debug("Email sent to {}: {}", to, subject);
-        } catch (MessagingException e) {
-            log.warn("Failed to send email to {}: {}", to, e.getMessage());
-        }
+    private EmailOutboxMessage message(Booking booking, String subject, String html) {
+        return EmailOutboxMessage.builder()
+                .recipient(booking.getUser().getEmail())
+                .subject(subject)
+                .body(html)
+                .bookingId(booking.getId())
+                .build();
     }
 
     private String buildHtml(String userName, String title, String facilityName,
@@ -0,0 +1,148 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.FacilityResponse;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.repository.FacilityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-process snapshot of the active facility catalogue.
+ *
+ * Loaded with one query on first use and dropped after any facility write
+ * on this node commits. Writes on other nodes are picked up by a cheap probe,
+ * the row count and latest {@code updated_at}, run at most once per
+ * {@code app.facilities.catalog-check-interval}; a changed probe reloads the
+ * snapshot. A write whose timestamp does not move the latest one (clock skew
+ * between nodes, or transactions committing out of order) is missed by the
+ * probe, so a snapshot is also reloaded once it is older than
+ * {@code app.facilities.catalog-max-age}. A load that overlaps an
+ * invalidation is returned to its caller but not kept, so a stale catalogue
+ * is never cached.
+ */
+@Component
+@Slf4j
+public class FacilityCatalog {
+
+    private final FacilityRepository facilityRepository;
+    private final long checkIntervalNanos;
+    private final long maxAgeNanos;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private volatile long checkedAt;
+    private volatile long loadedAt;
+    private volatile String probe;
+
+    /**
+     * Active facilities in id order, plus an id index and each facility's
+     * amenity mask. {@code version} is a digest of the facilities' ids and
+     * {@code updated_at}, so equal catalogues have equal versions on every
+     * node. Shared: treat as read-only.
+     */
+    public record Snapshot(String version, long generation, List<FacilityResponse> facilities,
+                           Map<Long, FacilityResponse> byId, Map<Long, Long> amenityMasks) {
+
+        public boolean hasAmenities(FacilityResponse f, AmenityDictionary.Required required) {
+            return required.matchedBy(amenityMasks.getOrDefault(f.getId(), 0L), f.getAmenities());
+        }
+
+        /**
+         * Strong ETag for a response built from this version and the given
+         * request parameters: a SHA-256 over both, the same on every node.
+         */
+        public String etag(String request) {
+            return "\"" + sha256(version + "\n" + request) + "\"";
+        }
+    }
+
+    public FacilityCatalog(FacilityRepository facilityRepository,
+                           @Value("${app.facilities.catalog-check-interval:PT2S}") Duration checkInterval,
+                           @Value("${app.facilities.catalog-max-age:PT1M}") Duration maxAge) {
+        this.facilityRepository = facilityRepository;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.maxAgeNanos        = maxAge.toNanos();
+    }
+
+    @Transactional(readOnly = true)
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            long now = System.nanoTime();
+            if (now - checkedAt < checkIntervalNanos) return snapshot;
+            if (now - loadedAt < maxAgeNanos && facilityRepository.catalogProbe().equals(probe)) {
+                checkedAt = now;
+                return snapshot;
+            }
+            // Changed on another node, or due for a refresh
+            synchronized (this) {
+                if (current.get() == snapshot) evict();
+            }
+        }
+
+        long gen = generation.get();
+        String loadedProbe = facilityRepository.catalogProbe();
+        List<FacilityResponse> facilities = new ArrayList<>();
+        Map<Long, FacilityResponse> byId = new HashMap<>();
+        Map<Long, Long> masks = new HashMap<>();
+        StringBuilder stamps = new StringBuilder();
+        for (Facility f : facilityRepository.findAllActiveWithAmenities()) {
+            FacilityResponse response = FacilityResponse.from(f);
+            facilities.add(response);
+            byId.put(f.getId(), response);
+            masks.put(f.getId(), f.getAmenityMask());
+            stamps.append(f.getId()).append('@').append(f.getUpdatedAt()).append(',');
+        }
+
+        Snapshot loaded = new Snapshot(sha256(stamps.toString()), gen, Collections.unmodifiableList(facilities),
+                Collections.unmodifiableMap(byId), Collections.unmodifiableMap(masks));
+        synchronized (this) {
+            if (generation.get() == gen && current.compareAndSet(null, loaded)) {
+                probe = loadedProbe;
+                loadedAt = checkedAt = System.nanoTime();
+                log.debug("Facility catalogue loaded ({} facilities)", facilities.size());
+            }
+        }
+        return loaded;
+    }
+
+    /** Drops the snapshot once the current transaction commits (immediately if there is none). */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict();
+            }
+        });
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private synchronized void evict() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+}
@@ -2,63 +2,116 @@ package com.campus.booking.service;
 
 import com.campus.booking.dto.request.FacilityRequest;
 import com.campus.booking.dto.response.FacilityResponse;
+import com.campus.booking.entity.Booking;
 import com.campus.booking.entity.Facility;
+import com.campus.booking.exception.BadRequestException;
 import com.campus.booking.exception.ResourceNotFoundException;
+import com.campus.booking.repository.BookingRepository;
 import com.campus.booking.repository.FacilityRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import jakarta.persistence.criteria.Predicate;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class FacilityService {
 
     private final FacilityRepository facilityRepository;
-
-    @Transactional(readOnly = true)
+    private final BookingRepository  bookingRepository;
+    private final FacilityCatalog    facilityCatalog;
+    private final AmenityDictionary  amenityDictionary;
+
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Catalogue filters are applied in memory to the cached snapshot; the
+     * amenity filter is one AND against each facility's amenity mask (plus a
+     * list lookup for any amenity past the bitmap). A
+     * search term goes to the full-text / trigram index instead and the
+     * results come back in relevance order.
+     */
     public List<FacilityResponse> getAll(String type, String search,
-                                          Integer minCapacity, Integer maxCapacity) {
-
-        Specification<Facility> spec = (root, query, cb) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            predicates.add(cb.isTrue(root.get("isActive")));
-
-            if (StringUtils.hasText(type))
-                predicates.add(cb.equal(root.get("facilityType"), type));
-
-            if (StringUtils.hasText(search)) {
-                String pattern = "%" + search.toLowerCase() + "%";
-                predicates.add(cb.or(
-                        cb.like(cb.lower(root.get("name")), pattern),
-                        cb.like(cb.lower(root.get("location")), pattern),
-                        cb.like(cb.lower(root.get("description")), pattern)
-                ));
-            }
-
-            if (minCapacity != null)
-                predicates.add(cb.greaterThanOrEqualTo(root.get("capacity"), minCapacity));
-            if (maxCapacity != null)
-                predicates.add(cb.lessThanOrEqualTo(root.get("capacity"), maxCapacity));
-
-            return cb.and(predicates.toArray(new Predicate[0]));
-        };
-
-        return facilityRepository.findAll(spec).stream()
-                .map(FacilityResponse::from)
+                                          Integer minCapacity, Integer maxCapacity,
+                                          List<String> amenities) {
+        Optional<AmenityDictionary.Required> required = amenityDictionary.required(amenities);
+        if (required.isEmpty()) return List.of();
+
+        FacilityCatalog.Snapshot catalog = facilityCatalog.get();
+        Predicate<FacilityResponse> matches = matches(catalog, type, minCapacity, maxCapacity, required.get());
+        if (!StringUtils.hasText(search)) {
+            return catalog.facilities().stream()
+                    .filter(matches)
+                    .toList();
+        }
+
+        String term = search.trim();
+        String tsQuery = prefixQuery(term);
+        if (tsQuery.isEmpty()) return List.of();
+
+        return facilityRepository.searchIds(tsQuery, term, "%" + escapeLike(term) + "%").stream()
+                .map(catalog.byId()::get)
+                .filter(Objects::nonNull)
+                .filter(matches)
                 .toList();
     }
 
+    /**
+     * Facilities matching the catalogue filters that are free for the whole
+     * window {@code [start, end)} on {@code date} and offer every requested
+     * amenity, smallest adequate capacity first. The day's bookings for all
+     * facilities are loaded in one query and tested in memory.
+     */
     @Transactional(readOnly = true)
+    public List<FacilityResponse> findFree(String type, Integer minCapacity, Integer maxCapacity,
+                                           LocalDate date, String startStr, String endStr,
+                                           List<String> amenities) {
+        LocalTime start = LocalTime.parse(startStr, TIME_FMT);
+        LocalTime end   = LocalTime.parse(endStr,   TIME_FMT);
+        if (!end.isAfter(start)) {
+            throw new BadRequestException("End time must be after start time");
+        }
+
+        Optional<AmenityDictionary.Required> required = amenityDictionary.required(amenities);
+        if (required.isEmpty()) return List.of();
+
+        Map<Long, DayOccupancy> byFacility = new HashMap<>();
+        for (Booking b : bookingRepository.findBookedSlotsForActiveFacilities(date)) {
+            byFacility.computeIfAbsent(b.getFacility().getId(), id -> new DayOccupancy()).add(b);
+        }
+
+        FacilityCatalog.Snapshot catalog = facilityCatalog.get();
+        return catalog.facilities().stream()
+                .filter(matches(catalog, type, minCapacity, maxCapacity, required.get()))
+                .filter(f -> {
+                    DayOccupancy occupancy = byFacility.get(f.getId());
+                    return occupancy == null || !occupancy.overlaps(start, end);
+                })
+                .sorted(Comparator.comparingInt(FacilityResponse::getCapacity)
+                        .thenComparing(FacilityResponse::getName))
+                .toList();
+    }
+
+    /** ETag for a catalogue read with these parameters; needs no query beyond the version probe. */
+    public String etag(Object... request) {
+        return facilityCatalog.get().etag(Arrays.deepToString(request));
+    }
+
     public FacilityResponse getById(Long id) {
-        Facility f = facilityRepository.findByIdAndIsActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Facility not found: " + id));
-        return FacilityResponse.from(f);
+        FacilityResponse f = facilityCatalog.get().byId().get(id);
+        if (f == null) throw new ResourceNotFoundException("Facility not found: " + id);
+        return f;
     }
 
     @Transactional
@@ -74,6 +127,8 @@ public class FacilityService {
                 .requiresApproval(req.isRequiresApproval())
                 .isActive(true)
                 .build();
+        f.setAmenityMask(amenityDictionary.assign(f.getAmenities()));
+        facilityCatalog.invalidate();
         return FacilityResponse.from(facilityRepository.save(f));
     }
 
@@ -86,11 +141,17 @@ public class FacilityService {
         if (StringUtils.hasText(req.getLocation())) f.setLocation(req.getLocation());
         if (req.getCapacity() > 0)                  f.setCapacity(req.getCapacity());
         if (req.getDescription() != null)           f.setDescription(req.getDescription());
-        if (req.getAmenities() != null)             f.setAmenities(req.getAmenities());
+        if (req.getAmenities() != null) {
+            f.setAmenities(req.getAmenities());
+            f.setAmenityMask(amenityDictionary.assign(req.getAmenities()));
+        }
         if (req.getFacilityType() != null)          f.setFacilityType(req.getFacilityType());
         if (req.getImageUrl() != null)              f.setImageUrl(req.getImageUrl());
         f.setRequiresApproval(req.isRequiresApproval());
+        // Bumped even when only the amenity collection changed; the catalogue version reads it
+        f.setUpdatedAt(LocalDateTime.now());
 
+        facilityCatalog.invalidate();
         return FacilityResponse.from(facilityRepository.save(f));
     }
 
@@ -100,5 +161,52 @@ public class FacilityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Facility not found: " + id));
         f.setActive(false);
         facilityRepository.save(f);
+        facilityCatalog.invalidate();
+    }
+
+    /**
+     * Brings every facility's amenity mask in line with its amenity list,
+     * covering rows written before masks existed or outside this service
+     * (e.g. the seeder).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void syncAmenityMasks() {
+        int changed = 0;
+        for (Facility f : facilityRepository.findAllWithAmenities()) {
+            long mask = amenityDictionary.assign(f.getAmenities());
+            if (mask != f.getAmenityMask()) {
+                f.setAmenityMask(mask);
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            facilityCatalog.invalidate();
+            log.info("Updated amenity masks on {} facilities", changed);
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private static Predicate<FacilityResponse> matches(FacilityCatalog.Snapshot catalog, String type,
+                                                       Integer minCapacity, Integer maxCapacity,
+                                                       AmenityDictionary.Required requiredAmenities) {
+        return f -> (!StringUtils.hasText(type) || type.equals(f.getFacilityType()))
+                && (minCapacity == null || f.getCapacity() >= minCapacity)
+                && (maxCapacity == null || f.getCapacity() <= maxCapacity)
+                && (requiredAmenities.isNone() || catalog.hasAmenities(f, requiredAmenities));
+    }
+
+    /** "proj whi" → "proj:* & whi:*": every word, each as a prefix, so partial input matches while typing. */
+    private static String prefixQuery(String term) {
+        StringJoiner query = new StringJoiner(" & ");
+        for (String word : term.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) query.add(word.toLowerCase() + ":*");
+        }
+        return query.toString();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
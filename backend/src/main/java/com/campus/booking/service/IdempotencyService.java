@@ -0,0 +1,233 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.entity.IdempotencyRecord;
+import com.campus.booking.exception.BadRequestException;
+import com.campus.booking.exception.ConflictException;
+import com.campus.booking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@code Idempotency-Key} support for booking creation.
+ *
+ * Completed responses are kept in a bounded, time-expiring in-memory map and
+ * in the {@code idempotency_keys} table, which also serves as a cross-node
+ * claim while the first request is still running. The response is written
+ * in the booking's own transaction, so a stored key always matches a
+ * committed booking. Requests are fingerprinted with a SHA-256 of their
+ * canonical JSON; reusing a key with a different body is rejected. A replay
+ * returns the original response without touching the booking tables.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter canonicalWriter;
+    private final Duration ttl;
+    private final Duration claimTimeout;
+    private final Map<String, Entry> recent;
+
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public record Result(BookingResponse response, boolean replayed) {}
+
+    private record Entry(String requestDigest, BookingResponse response, LocalDateTime createdAt) {}
+
+    private record InFlight(String requestDigest, CompletableFuture<BookingResponse> result) {}
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              Jackson2ObjectMapperBuilder mapperBuilder,
+                              @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${app.idempotency.claim-timeout:PT1M}") Duration claimTimeout,
+                              @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.repository   = repository;
+        this.objectMapper = objectMapper;
+        // Same settings as the application's mapper, plus a stable property order
+        this.canonicalWriter = mapperBuilder
+                .featuresToEnable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY,
+                        SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build()
+                .writer();
+        this.ttl          = ttl;
+        this.claimTimeout = claimTimeout;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /** Hex SHA-256 of the request serialized with sorted properties. */
+    public String fingerprint(Object request) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonicalWriter.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    /**
+     * Runs {@code action} at most once per key. The action receives a
+     * callback that it must invoke inside the transaction creating the
+     * booking; that is where the response is recorded.
+     */
+    public Result execute(Long userId, String key, String requestDigest,
+                          Function<Consumer<BookingResponse>, BookingResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String scoped = userId + ":" + key;
+
+        // 1. Recently completed on this node
+        Entry cached = recent.get(scoped);
+        if (cached != null && !isExpired(cached.createdAt())) {
+            return replay(cached.requestDigest(), requestDigest, cached.response());
+        }
+
+        // 2. Same key already running on this node → share its outcome
+        CompletableFuture<BookingResponse> mine = new CompletableFuture<>();
+        InFlight claim = new InFlight(requestDigest, mine);
+        InFlight running = inFlight.putIfAbsent(scoped, claim);
+        if (running != null) {
+            checkSameRequest(running.requestDigest(), requestDigest);
+            try {
+                return new Result(running.result().join(), true);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        try {
+            // 3. Persisted fallback / cross-node claim
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.claim(scoped, userId, requestDigest, now) == 0) {
+                Optional<Result> stored = fromStore(scoped, requestDigest);
+                if (stored.isPresent()) {
+                    mine.complete(stored.get().response());
+                    return stored.get();
+                }
+                // Stale claim was released; try once more
+                if (repository.claim(scoped, userId, requestDigest, now) == 0) {
+                    throw new ConflictException("A request with this Idempotency-Key is still being processed");
+                }
+            }
+
+            BookingResponse response;
+            try {
+                response = action.apply(created ->
+                        repository.complete(scoped, created.getId(), serialize(created)));
+            } catch (RuntimeException e) {
+                repository.release(scoped);
+                throw e;
+            }
+
+            recent.put(scoped, new Entry(requestDigest, response, now));
+            mine.complete(response);
+            return new Result(response, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scoped, claim);
+        }
+    }
+
+    /** Drops persisted keys past their TTL. */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int removed = repository.deleteOlderThan(LocalDateTime.now().minus(ttl));
+        if (removed > 0) log.debug("Purged {} expired idempotency keys", removed);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    /**
+     * Completed record → replay; in-progress record → conflict; expired
+     * record or abandoned claim → released and reported absent. A different
+     * request under the same key is rejected in either live state.
+     */
+    private Optional<Result> fromStore(String scoped, String requestDigest) {
+        Optional<IdempotencyRecord> found = repository.findById(scoped);
+        if (found.isEmpty()) return Optional.empty();
+
+        IdempotencyRecord record = found.get();
+        boolean abandoned = record.getResponse() == null
+                && record.getCreatedAt().plus(claimTimeout).isBefore(LocalDateTime.now());
+        if (abandoned || isExpired(record.getCreatedAt())) {
+            repository.release(scoped);
+            return Optional.empty();
+        }
+        checkSameRequest(record.getRequestDigest(), requestDigest);
+        if (record.getResponse() == null) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        }
+
+        BookingResponse response = deserialize(record.getResponse());
+        recent.put(scoped, new Entry(record.getRequestDigest(), response, record.getCreatedAt()));
+        return Optional.of(new Result(response, true));
+    }
+
+    private Result replay(String storedDigest, String requestDigest, BookingResponse response) {
+        checkSameRequest(storedDigest, requestDigest);
+        return new Result(response, true);
+    }
+
+    private static void checkSameRequest(String storedDigest, String requestDigest) {
+        if (!storedDigest.equals(requestDigest)) {
+            throw new BadRequestException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt.plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    private String serialize(BookingResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking response", e);
+        }
+    }
+
+    private BookingResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, BookingResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored booking response", e);
+        }
+    }
+}
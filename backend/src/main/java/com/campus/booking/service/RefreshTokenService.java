@@ -0,0 +1,186 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.AuthResponse;
+import com.campus.booking.dto.response.UserResponse;
+import com.campus.booking.entity.RefreshToken;
+import com.campus.booking.entity.User;
+import com.campus.booking.repository.RefreshTokenRepository;
+import com.campus.booking.repository.UserRepository;
+import com.campus.booking.security.JwtTokenProvider;
+import com.campus.booking.security.JwtTokenProvider.AccessToken;
+import com.campus.booking.security.TokenRevocationList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues access/refresh token pairs and rotates refresh tokens.
+ *
+ * A refresh token is single use: exchanging it marks it used and issues a
+ * new pair in the same family. Presenting a used or revoked token is taken
+ * as theft, so the family is revoked together with any access tokens it
+ * issued that have not yet expired. The exception is a used token presented
+ * again within {@code app.jwt.refresh-reuse-grace}: two tabs (or a retried
+ * request) racing to refresh is normal, so the late caller gets its own pair.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList revocationList;
+    private final Duration refreshTtl;
+    private final Duration reuseGrace;
+
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtTokenProvider jwtTokenProvider,
+                               TokenRevocationList revocationList,
+                               @Value("${app.jwt.refresh-expiration-ms}") long refreshExpirationMs,
+                               @Value("${app.jwt.refresh-reuse-grace:PT10S}") Duration reuseGrace) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository   = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revocationList   = revocationList;
+        this.refreshTtl = Duration.ofMillis(refreshExpirationMs);
+        this.reuseGrace = reuseGrace;
+    }
+
+    // ── Issue / rotate ────────────────────────────────────────────────
+
+    /** Starts a new session (token family) for a user who just signed in. */
+    @Transactional
+    public AuthResponse issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(RefreshTokenService::invalid);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.isRevoked()) {
+            log.warn("Revoked refresh token presented for user {}; revoking session", current.getUserId());
+            revokeFamily(current.getFamily());
+            throw invalid();
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            // markUsed also loses to a concurrent revocation, which is not a refresh race
+            if (current.getUsedAt() == null && refreshTokenRepository.isRevoked(current.getId())) {
+                revokeFamily(current.getFamily());
+                throw invalid();
+            }
+            // A concurrent exchange that just won markUsed counts as used now
+            LocalDateTime usedAt = current.getUsedAt() != null ? current.getUsedAt() : now;
+            if (usedAt.plus(reuseGrace).isBefore(now)) {
+                log.warn("Refresh token reuse for user {}; revoking session", current.getUserId());
+                revokeFamily(current.getFamily());
+                throw invalid();
+            }
+            log.debug("Refresh token for user {} reused within grace window", current.getUserId());
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw invalid();
+        }
+
+        User user = userRepository.findByIdAndIsActiveTrue(current.getUserId()).orElse(null);
+        if (user == null) {
+            revokeFamily(current.getFamily());
+            throw invalid();
+        }
+        return issue(user, current.getFamily());
+    }
+
+    // ── Revoke ────────────────────────────────────────────────────────
+
+    /** Ends a session: the access token and the refresh token's family, whichever are given. */
+    @Transactional
+    public void logout(String accessToken, String rawRefreshToken) {
+        if (accessToken != null) {
+            jwtTokenProvider.verify(accessToken).ifPresent(c -> revocationList.revoke(
+                    c.tokenId(), LocalDateTime.ofInstant(c.expiresAt(), ZoneId.systemDefault())));
+        }
+        if (rawRefreshToken != null) {
+            refreshTokenRepository.findByTokenHash(hash(rawRefreshToken))
+                    .ifPresent(t -> revokeFamily(t.getFamily()));
+        }
+    }
+
+    /** Ends every session of a user, e.g. when the account is deactivated. */
+    @Transactional
+    public void revokeAll(Long userId) {
+        for (RefreshToken t : refreshTokenRepository.findLiveForUser(userId, LocalDateTime.now())) {
+            revocationList.revoke(t.getAccessJti(), t.getAccessExpiresAt());
+        }
+        refreshTokenRepository.revokeAllForUser(userId);
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) log.debug("Purged {} expired refresh tokens", deleted);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private AuthResponse issue(User user, String family) {
+        AccessToken access = jwtTokenProvider.generateToken(
+                user.getId(), user.getRole().name(), user.getTokenVersion());
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(raw))
+                .userId(user.getId())
+                .family(family)
+                .accessJti(access.tokenId())
+                .accessExpiresAt(LocalDateTime.ofInstant(access.expiresAt(), ZoneId.systemDefault()))
+                .expiresAt(now.plus(refreshTtl))
+                .build());
+
+        return AuthResponse.of(access.token(), jwtTokenProvider.getExpirationMs() / 1000,
+                raw, UserResponse.from(user));
+    }
+
+    private void revokeFamily(String family) {
+        for (RefreshToken t : refreshTokenRepository.findLiveInFamily(family, LocalDateTime.now())) {
+            revocationList.revoke(t.getAccessJti(), t.getAccessExpiresAt());
+        }
+        refreshTokenRepository.revokeFamily(family);
+    }
+
+    private static String hash(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BadCredentialsException invalid() {
+        return new BadCredentialsException("Invalid or expired refresh token");
+    }
+}
@@ -0,0 +1,225 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.request.HoldRequest;
+import com.campus.booking.dto.response.HoldResponse;
+import com.campus.booking.entity.User;
+import com.campus.booking.exception.ConflictException;
+import com.campus.booking.exception.ResourceNotFoundException;
+import com.campus.booking.exception.TooManyRequestsException;
+import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.FacilityRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived holds on a facility/date/time range while a user fills in the
+ * booking form.
+ *
+ * Holds are indexed by facility-day for grid rendering and conflict checks,
+ * and scheduled on a one-second timing wheel whose span exceeds the hold TTL.
+ * Each tick drains a single bucket, so expiry costs O(1) per tick plus O(1)
+ * per expired hold, however many holds are live. Holds are per node.
+ *
+ * A hold is limited to the same length as a booking, and each user may
+ * hold at most {@code app.holds.max-per-user} ranges at a time.
+ */
+@Service
+public class SlotHoldService {
+
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final FacilityRepository facilityRepository;
+    private final BookingRepository  bookingRepository;
+    private final Duration ttl;
+    private final int maxPerUser;
+
+    private final ConcurrentMap<FacilityDay, Map<String, Hold>> byDay = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Hold> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Hold>> byUser = new ConcurrentHashMap<>();
+
+    private final List<Set<Hold>> wheel;
+    private final AtomicLong tick = new AtomicLong();
+
+    private record FacilityDay(Long facilityId, LocalDate date) {}
+
+    /** A held range; {@code expiryTick} is the wheel tick it lapses on. */
+    public record Hold(String id, Long userId, Long facilityId, LocalDate date,
+                       LocalTime start, LocalTime end, LocalDateTime expiresAt, long expiryTick) {
+
+        boolean overlaps(LocalTime s, LocalTime e) {
+            return start.isBefore(e) && end.isAfter(s);
+        }
+    }
+
+    public SlotHoldService(FacilityRepository facilityRepository,
+                           BookingRepository bookingRepository,
+                           @Value("${app.holds.ttl:PT5M}") Duration ttl,
+                           @Value("${app.holds.max-per-user:5}") int maxPerUser) {
+        this.facilityRepository = facilityRepository;
+        this.bookingRepository  = bookingRepository;
+        this.ttl = ttl;
+        this.maxPerUser = Math.max(1, maxPerUser);
+
+        int buckets = (int) ttl.toSeconds() + 2;
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) wheel.add(ConcurrentHashMap.newKeySet());
+    }
+
+    // ── Place / release ───────────────────────────────────────────────
+
+    @Transactional(readOnly = true)
+    public HoldResponse place(HoldRequest req, User currentUser) {
+        facilityRepository.findByIdAndIsActiveTrue(req.getFacilityId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Facility not found: " + req.getFacilityId()));
+
+        LocalTime start = LocalTime.parse(req.getStartTime(), TIME_FMT);
+        LocalTime end   = LocalTime.parse(req.getEndTime(),   TIME_FMT);
+        BookingService.validateTimes(start, end);
+
+        DayOccupancy booked = DayOccupancy.of(bookingRepository.findBookedSlots(req.getFacilityId(), req.getDate()));
+        if (booked.overlaps(start, end)) {
+            throw new ConflictException("This facility is already booked during the requested time");
+        }
+
+        FacilityDay key = new FacilityDay(req.getFacilityId(), req.getDate());
+        while (true) {
+            Map<String, Hold> day = byDay.computeIfAbsent(key, k -> new LinkedHashMap<>());
+            synchronized (day) {
+                // Lost a race with the last hold on this day being removed
+                if (byDay.get(key) != day) continue;
+
+                for (Hold h : day.values()) {
+                    if (!h.userId().equals(currentUser.getId()) && isLive(h) && h.overlaps(start, end)) {
+                        throw new ConflictException("This time is temporarily held by another user");
+                    }
+                }
+                long expiryTick = tick.get() + ttl.toSeconds();
+                Hold hold = new Hold(UUID.randomUUID().toString(), currentUser.getId(),
+                        req.getFacilityId(), req.getDate(), start, end,
+                        LocalDateTime.now().plus(ttl), expiryTick);
+                reserve(hold);
+                day.put(hold.id(), hold);
+                byId.put(hold.id(), hold);
+                bucket(expiryTick).add(hold);
+                return toResponse(hold);
+            }
+        }
+    }
+
+    public void release(String holdId, User currentUser) {
+        Hold hold = byId.get(holdId);
+        if (hold == null) throw new ResourceNotFoundException("Hold not found: " + holdId);
+        if (!hold.userId().equals(currentUser.getId())) throw new AccessDeniedException("Access denied");
+        remove(hold);
+    }
+
+    // ── Queries used by availability and booking ──────────────────────
+
+    /** Live holds on a facility-day. */
+    public List<Hold> holdsFor(Long facilityId, LocalDate date) {
+        Map<String, Hold> day = byDay.get(new FacilityDay(facilityId, date));
+        if (day == null) return List.of();
+        synchronized (day) {
+            return day.values().stream().filter(this::isLive).toList();
+        }
+    }
+
+    /** True if a hold by someone other than {@code userId} overlaps the range. */
+    public boolean isHeldByOther(Long facilityId, LocalDate date,
+                                 LocalTime start, LocalTime end, Long userId) {
+        for (Hold h : holdsFor(facilityId, date)) {
+            if (!h.userId().equals(userId) && h.overlaps(start, end)) return true;
+        }
+        return false;
+    }
+
+    /** Drops the user's holds covered by a booking they just made. */
+    public void consume(Long facilityId, LocalDate date,
+                        LocalTime start, LocalTime end, Long userId) {
+        for (Hold h : holdsFor(facilityId, date)) {
+            if (h.userId().equals(userId) && h.overlaps(start, end)) remove(h);
+        }
+    }
+
+    // ── Timing wheel ──────────────────────────────────────────────────
+
+    @Scheduled(fixedRate = 1000)
+    public void advance() {
+        long now = tick.incrementAndGet();
+        for (Iterator<Hold> it = bucket(now).iterator(); it.hasNext(); ) {
+            Hold hold = it.next();
+            if (hold.expiryTick() <= now) {
+                it.remove();
+                remove(hold);
+            }
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private boolean isLive(Hold hold) {
+        return hold.expiryTick() > tick.get();
+    }
+
+    private Set<Hold> bucket(long tickNumber) {
+        return wheel.get((int) (tickNumber % wheel.size()));
+    }
+
+    /** Counts the hold against its user's limit; 429 until the oldest one lapses if the user is at it. */
+    private void reserve(Hold hold) {
+        byUser.compute(hold.userId(), (userId, held) -> {
+            Set<Hold> mine = held != null ? held : new HashSet<>();
+            List<Hold> live = mine.stream().filter(this::isLive).toList();
+            if (live.size() >= maxPerUser) {
+                long now = tick.get();
+                long wait = live.stream().mapToLong(h -> h.expiryTick() - now).min().orElse(1);
+                throw new TooManyRequestsException(
+                        "You can hold at most " + maxPerUser + " time ranges at once", Math.max(1, wait));
+            }
+            mine.add(hold);
+            return mine;
+        });
+    }
+
+    private void remove(Hold hold) {
+        byId.remove(hold.id());
+        bucket(hold.expiryTick()).remove(hold);
+        byUser.computeIfPresent(hold.userId(), (userId, held) -> {
+            held.remove(hold);
+            return held.isEmpty() ? null : held;
+        });
+
+        FacilityDay key = new FacilityDay(hold.facilityId(), hold.date());
+        Map<String, Hold> day = byDay.get(key);
+        if (day == null) return;
+        synchronized (day) {
+            day.remove(hold.id());
+            if (day.isEmpty()) byDay.remove(key, day);
+        }
+    }
+
+    private HoldResponse toResponse(Hold h) {
+        return HoldResponse.builder()
+                .id(h.id())
+                .facilityId(h.facilityId())
+                .date(h.date())
+                .startTime(h.start())
+                .endTime(h.end())
+                .expiresAt(h.expiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,345 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.UserImportResult;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Admin bulk provisioning of user accounts from a CSV upload.
+ *
+ * The file is read one chunk of valid rows at a time, each row validated as
+ * on registration. For each chunk, emails already in the table are found
+ * with one {@code = ANY(array)} query, the remaining passwords are hashed in
+ * parallel on a private pool (half the cores by default), and the rows
+ * are inserted with a single {@code INSERT ... SELECT FROM unnest(...)}.
+ * The next chunk is parsed and hashed while the previous one is inserted, so
+ * at most two chunks of plaintext passwords are held at once. Outcomes come
+ * from {@code RETURNING email}: a row that {@code ON CONFLICT DO NOTHING}
+ * skipped (an account registered while the import runs) is reported as
+ * existing, not created.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern DIGIT = Pattern.compile(".*\\d.*");
+
+    private static final String INSERT = """
+            INSERT INTO users (name, email, password, role, student_id, department,
+                               is_active, token_version, created_at, updated_at)
+            SELECT name, email, password, role, student_id, department, true, 0, ?, ?
+            FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+                 AS t(name, email, password, role, student_id, department)
+            ON CONFLICT (email) DO NOTHING
+            RETURNING email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService hashPool;
+    private final int maxRows;
+    private final int batchSize;
+
+    /**
+     * A row that passed validation and is waiting to be inserted;
+     * {@code slot} is its position in the report.
+     */
+    private record Candidate(int slot, int row, String name, String email, String password, Role role,
+                             String studentId, String department) {}
+
+    /** A chunk whose passwords are being hashed. */
+    private record Chunk(List<Candidate> rows, List<Future<String>> hashes) {}
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PasswordEncoder passwordEncoder,
+                             @Value("${app.import.hash-threads:0}") int hashThreads,
+                             @Value("${app.import.max-rows:50000}") int maxRows,
+                             @Value("${app.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate    = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.maxRows   = maxRows;
+        this.batchSize = batchSize;
+
+        // Half the cores by default, like PasswordHasher, so a long import leaves room for requests
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "user-import-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Imports every valid, new row; the result has one entry per data row
+     * in file order. Expected columns (any order, header required): name,
+     * email, password, and optionally role, student_id, department.
+     */
+    public Map<String, Object> importCsv(InputStream in) {
+        List<UserImportResult> report = new ArrayList<>();
+        Chunk pending = null;
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)) {
+            List<String> header = readRecord(reader);
+            if (header == null) throw new BadRequestException("The file is empty");
+            Map<String, Integer> columns = columns(header);
+
+            // Only emails are kept across chunks, for duplicate detection
+            Set<String> seen = new HashSet<>();
+            List<Candidate> candidates = new ArrayList<>(batchSize);
+            int line = 1;
+            for (List<String> record; (record = readRecord(reader)) != null; ) {
+                line++;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+                if (report.size() >= maxRows) {
+                    throw new BadRequestException("Too many rows (max " + maxRows + ")");
+                }
+                report.add(validate(report.size(), line, record, columns, seen, candidates));
+                if (candidates.size() == batchSize) {
+                    pending = advance(pending, candidates, report);
+                    candidates = new ArrayList<>(batchSize);
+                }
+            }
+            pending = advance(pending, candidates, report);
+            insert(pending, report);
+            pending = null;
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read the uploaded file: " + e.getMessage());
+        } finally {
+            if (pending != null) pending.hashes().forEach(f -> f.cancel(true));
+        }
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        for (UserImportResult r : report) summary.merge(r.getOutcome(), 1, Integer::sum);
+        log.info("User import: {} rows, {}", report.size(), summary);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("summary", summary);
+        result.put("data", report);
+        return result;
+    }
+
+    // ── Hash and insert ───────────────────────────────────────────────
+
+    /**
+     * Starts hashing {@code candidates} and then inserts the previous chunk,
+     * whose hashes have had the parse of this one to finish. Returns the
+     * chunk now in flight.
+     */
+    private Chunk advance(Chunk previous, List<Candidate> candidates, List<UserImportResult> report) {
+        Chunk next = hash(candidates, report);
+        try {
+            insert(previous, report);
+        } catch (RuntimeException e) {
+            next.hashes().forEach(f -> f.cancel(true));
+            throw e;
+        }
+        return next;
+    }
+
+    private Chunk hash(List<Candidate> candidates, List<UserImportResult> report) {
+        Set<String> existing = existingEmails(candidates.stream().map(Candidate::email).toList());
+        List<Candidate> fresh = new ArrayList<>(candidates.size());
+        List<Future<String>> hashes = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            if (existing.contains(c.email())) {
+                report.set(c.slot(), result(c.row(), c.email(), "exists", "Email already registered"));
+            } else {
+                fresh.add(c);
+                hashes.add(hashPool.submit(() -> passwordEncoder.encode(c.password())));
+            }
+        }
+        return new Chunk(fresh, hashes);
+    }
+
+    private void insert(Chunk chunk, List<UserImportResult> report) {
+        if (chunk == null || chunk.rows().isEmpty()) return;
+
+        List<String> hashes = new ArrayList<>(chunk.rows().size());
+        try {
+            for (Future<String> f : chunk.hashes()) hashes.add(f.get());
+        } catch (InterruptedException e) {
+            chunk.hashes().forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", e);
+        } catch (ExecutionException e) {
+            chunk.hashes().forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+
+        Set<String> created = insertRows(chunk.rows(), hashes);
+        for (Candidate c : chunk.rows()) {
+            report.set(c.slot(), created.contains(c.email())
+                    ? result(c.row(), c.email(), "created", null)
+                    : result(c.row(), c.email(), "exists", "Email already registered"));
+        }
+    }
+
+    /** Inserts the chunk in one statement and returns the emails actually created. */
+    private Set<String> insertRows(List<Candidate> rows, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, con.createArrayOf("text", rows.stream().map(Candidate::name).toArray()));
+            ps.setArray(4, con.createArrayOf("text", rows.stream().map(Candidate::email).toArray()));
+            ps.setArray(5, con.createArrayOf("text", hashes.toArray()));
+            ps.setArray(6, con.createArrayOf("text",
+                    rows.stream().map(c -> c.role().name().toLowerCase()).toArray()));
+            ps.setArray(7, con.createArrayOf("text", rows.stream().map(Candidate::studentId).toArray()));
+            ps.setArray(8, con.createArrayOf("text", rows.stream().map(Candidate::department).toArray()));
+            return ps;
+        }, (rs, i) -> rs.getString(1)));
+    }
+
+    private Set<String> existingEmails(List<String> emails) {
+        if (emails.isEmpty()) return Set.of();
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT email FROM users WHERE email = ANY(?)");
+            ps.setArray(1, con.createArrayOf("text", emails.toArray()));
+            return ps;
+        }, (rs, i) -> rs.getString(1)));
+    }
+
+    // ── Validation ────────────────────────────────────────────────────
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase();
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : List.of("name", "email", "password")) {
+            if (!columns.containsKey(required)) {
+                throw new BadRequestException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static UserImportResult validate(int slot, int line, List<String> record,
+                                             Map<String, Integer> columns,
+                                             Set<String> seen, List<Candidate> candidates) {
+        String name       = field(record, columns, "name");
+        String email      = field(record, columns, "email");
+        String password   = field(record, columns, "password");
+        String roleValue  = field(record, columns, "role");
+        String studentId  = field(record, columns, "student_id");
+        String department = field(record, columns, "department");
+
+        email = email != null ? email.toLowerCase() : null;
+        if (name == null || name.length() < 2 || name.length() > 100) {
+            return result(line, email, "invalid", "Name must be 2-100 characters");
+        }
+        if (email == null || email.length() > 200 || !EMAIL.matcher(email).matches()) {
+            return result(line, email, "invalid", "Invalid email");
+        }
+        if (password == null || password.length() < 8 || !DIGIT.matcher(password).matches()) {
+            return result(line, email, "invalid", "Password must be at least 8 characters with a digit");
+        }
+
+        Role role = Role.STUDENT;
+        if (roleValue != null) {
+            try {
+                role = Role.valueOf(roleValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return result(line, email, "invalid", "Invalid role: " + roleValue);
+            }
+            if (role == Role.ADMIN) {
+                return result(line, email, "invalid", "Admin accounts cannot be imported");
+            }
+        }
+        if (studentId != null && studentId.length() > 50) {
+            return result(line, email, "invalid", "Student id must be at most 50 characters");
+        }
+        if (department != null && department.length() > 100) {
+            return result(line, email, "invalid", "Department must be at most 100 characters");
+        }
+
+        if (!seen.add(email)) {
+            return result(line, email, "duplicate", "Email appears earlier in the file");
+        }
+        candidates.add(new Candidate(slot, line, name, email, password, role, studentId, department));
+        // Placeholder until the row is inserted or found to exist
+        return result(line, email, "pending", null);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= record.size()) return null;
+        String value = record.get(i).trim();
+        return StringUtils.hasText(value) ? value : null;
+    }
+
+    private static UserImportResult result(int row, String email, String outcome, String message) {
+        return UserImportResult.builder().row(row).email(email).outcome(outcome).message(message).build();
+    }
+
+    // ── CSV ───────────────────────────────────────────────────────────
+
+    /**
+     * Next RFC 4180 record, or null at end of input. Quoted fields may hold
+     * commas, doubled quotes and line breaks. {@code reader} must support
+     * {@link Reader#mark}.
+     */
+    static List<String> readRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        for (int c; (c = reader.read()) != -1; ) {
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+}
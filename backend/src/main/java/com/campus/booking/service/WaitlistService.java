@@ -0,0 +1,209 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.request.WaitlistRequest;
+import com.campus.booking.dto.response.WaitlistResponse;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.WaitlistEntry;
+import com.campus.booking.exception.BadRequestException;
+import com.campus.booking.exception.ResourceNotFoundException;
+import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.FacilityRepository;
+import com.campus.booking.repository.WaitlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Per facility-slot waitlist with automatic promotion.
+ *
+ * When an interval is freed, the waiting entries for that facility-day are
+ * read from the database (via {@code idx_waitlist_facility_date}) and
+ * matched against the interval's {@link DayOccupancy} cell mask, so every
+ * node sees every entry. Promotion happens in the transaction that frees
+ * the interval and books at most one entry, the oldest that fits; entries
+ * that are held by someone else or no longer valid are passed over and stay
+ * waiting. Entries whose slot has started are expired on a schedule.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistRepository  waitlistRepository;
+    private final BookingRepository   bookingRepository;
+    private final FacilityRepository  facilityRepository;
+    private final EmailService        emailService;
+    private final BookingStatsService bookingStatsService;
+    private final SlotHoldService     slotHoldService;
+    private final JdbcTemplate        jdbcTemplate;
+
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
+
+    /** Skipped by bookings_no_overlap instead of failing the transaction; returns no row then. */
+    private static final String INSERT_BOOKING = """
+            INSERT INTO bookings (id, user_id, facility_id, date, start_time, end_time,
+                                  status, purpose, attendees, created_at, updated_at)
+            VALUES (nextval('bookings_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            RETURNING id
+            """;
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           BookingRepository bookingRepository,
+                           FacilityRepository facilityRepository,
+                           EmailService emailService,
+                           BookingStatsService bookingStatsService,
+                           SlotHoldService slotHoldService,
+                           JdbcTemplate jdbcTemplate) {
+        this.waitlistRepository  = waitlistRepository;
+        this.bookingRepository   = bookingRepository;
+        this.facilityRepository  = facilityRepository;
+        this.emailService        = emailService;
+        this.bookingStatsService = bookingStatsService;
+        this.slotHoldService     = slotHoldService;
+        this.jdbcTemplate        = jdbcTemplate;
+    }
+
+    // ── Join / leave / list ───────────────────────────────────────────
+
+    @Transactional
+    public WaitlistResponse join(WaitlistRequest req, User currentUser) {
+        Facility facility = facilityRepository.findByIdAndIsActiveTrue(req.getFacilityId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Facility not found: " + req.getFacilityId()));
+
+        LocalTime start = LocalTime.parse(req.getStartTime(), TIME_FMT);
+        LocalTime end   = LocalTime.parse(req.getEndTime(),   TIME_FMT);
+        BookingService.validateSlot(facility, req.getDate(), start, end, req.getAttendees());
+
+        DayOccupancy occupancy = DayOccupancy.of(bookingRepository.findBookedSlots(facility.getId(), req.getDate()));
+        if (!occupancy.overlaps(start, end)
+                && !slotHoldService.isHeldByOther(facility.getId(), req.getDate(), start, end, currentUser.getId())) {
+            throw new BadRequestException("This time is available; book it directly");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .user(currentUser)
+                .facility(facility)
+                .date(req.getDate())
+                .startTime(start)
+                .endTime(end)
+                .purpose(req.getPurpose())
+                .attendees(req.getAttendees())
+                .build());
+
+        return WaitlistResponse.from(entry);
+    }
+
+    @Transactional
+    public void leave(Long id, User currentUser) {
+        WaitlistEntry entry = waitlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Waitlist entry not found: " + id));
+        if (!entry.getUser().getId().equals(currentUser.getId())) {
+            throw new AccessDeniedException("Access denied");
+        }
+        if (entry.getStatus() != WaitlistEntry.Status.WAITING) {
+            throw new BadRequestException("Only waiting entries can be withdrawn");
+        }
+
+        entry.setStatus(WaitlistEntry.Status.CANCELLED);
+        waitlistRepository.save(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistResponse> getMine(User currentUser) {
+        return waitlistRepository
+                .findByUser_IdAndStatusOrderByDateAscStartTimeAsc(currentUser.getId(), WaitlistEntry.Status.WAITING)
+                .stream()
+                .map(WaitlistResponse::from)
+                .toList();
+    }
+
+    // ── Promotion ─────────────────────────────────────────────────────
+
+    /**
+     * Offers an interval freed in the caller's transaction to the waitlist:
+     * the oldest waiting entry on that facility-day that overlaps it and now
+     * fits is booked, in the same transaction. The booking goes in with
+     * {@code ON CONFLICT DO NOTHING}, so losing a race to a concurrent
+     * booking leaves the entry waiting instead of failing the caller.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void promote(Facility facility, LocalDate date, LocalTime freedStart, LocalTime freedEnd) {
+        long freed = DayOccupancy.cellMask(DayOccupancy.minuteOf(freedStart), DayOccupancy.minuteOf(freedEnd));
+        for (WaitlistEntry w : waitlistRepository.findWaitingOn(facility.getId(), date)) {
+            long wanted = DayOccupancy.cellMask(DayOccupancy.minuteOf(w.getStartTime()),
+                    DayOccupancy.minuteOf(w.getEndTime()));
+            if ((wanted & freed) != 0 && promoteOne(w.getId())) {
+                log.debug("Promoted waitlist entry {} on facility {} {}", w.getId(), facility.getId(), date);
+                return;
+            }
+        }
+    }
+
+    /** Books one waiting entry if it still fits and is still valid; false leaves it waiting. */
+    private boolean promoteOne(Long id) {
+        List<WaitlistEntry> locked = waitlistRepository.lockWaiting(List.of(id));
+        if (locked.isEmpty()) return false;   // withdrawn or promoted meanwhile
+
+        WaitlistEntry entry = locked.get(0);
+        Facility facility = entry.getFacility();
+        LocalDate date  = entry.getDate();
+        LocalTime start = entry.getStartTime();
+        LocalTime end   = entry.getEndTime();
+
+        if (!facility.isActive() || !date.atTime(start).isAfter(LocalDateTime.now())) return false;
+        try {
+            BookingService.validateSlot(facility, date, start, end, entry.getAttendees());
+        } catch (BadRequestException e) {
+            return false;
+        }
+        if (slotHoldService.isHeldByOther(facility.getId(), date, start, end, entry.getUser().getId())) {
+            return false;
+        }
+        if (DayOccupancy.of(bookingRepository.findBookedSlots(facility.getId(), date)).overlaps(start, end)) {
+            return false;
+        }
+
+        Status status = facility.isRequiresApproval() ? Status.PENDING : Status.CONFIRMED;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> inserted = jdbcTemplate.queryForList(INSERT_BOOKING, Long.class,
+                entry.getUser().getId(), facility.getId(), date, start, end,
+                status.name().toLowerCase(), entry.getPurpose(), entry.getAttendees(), now, now);
+        if (inserted.isEmpty()) return false;   // booked by someone else since the check
+
+        Booking booking = bookingRepository.findById(inserted.get(0)).orElseThrow();
+        bookingStatsService.record(BookingStatsService.Change.created(booking));
+
+        entry.setStatus(WaitlistEntry.Status.PROMOTED);
+        entry.setBookingId(booking.getId());
+
+        emailService.queueBookingConfirmation(booking);
+        return true;
+    }
+
+    // ── Expiry ────────────────────────────────────────────────────────
+
+    /** Entries whose slot has started can no longer be promoted; they stop waiting. */
+    @Scheduled(cron = "${app.waitlist.expire-cron:0 */15 * * * *}")
+    @Transactional
+    public void expireStarted() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = waitlistRepository.expireStarted(now.toLocalDate(), now.toLocalTime(), now,
+                WaitlistEntry.Status.WAITING, WaitlistEntry.Status.EXPIRED);
+        if (expired > 0) log.debug("Expired {} waitlist entries", expired);
+    }
+}
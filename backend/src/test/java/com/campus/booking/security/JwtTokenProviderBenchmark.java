@@ -0,0 +1,66 @@
+package com.campus.booking.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request's bearer token.
+ *
+ * {@code verify} runs through {@link JwtTokenProvider} with the verified-token
+ * cache on ({@code cacheSize} 10000) or effectively off (0: every entry is
+ * evicted as soon as it is added, so each call parses and checks the HMAC).
+ * {@code parsePerRequest} is the original path, building a parser and
+ * parsing the token on every call. {@code tokens} is the number of distinct
+ * live tokens requests are spread over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    @Param({"1", "1000"})
+    public int tokens;
+
+    private JwtTokenProvider provider;
+    private SecretKey key;
+    private String[] issued;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        provider = new JwtTokenProvider(SECRET, 900_000, cacheSize);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        issued = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            issued[i] = provider.generateToken((long) i + 1, "student", 0).token();
+        }
+    }
+
+    @Benchmark
+    public Object verify() {
+        return provider.verify(next()).orElseThrow();
+    }
+
+    @Benchmark
+    public Object parsePerRequest() {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(next()).getPayload();
+    }
+
+    private String next() {
+        return issued[ThreadLocalRandom.current().nextInt(issued.length)];
+    }
+}
@@ -0,0 +1,230 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.SlotDto;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.FacilityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * The bitmap-backed grids must render exactly what the original per-slot
+ * overlap loop did. The loop is kept here verbatim as the reference.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AvailabilityServiceTest {
+
+    private static final long FACILITY_ID = 1L;
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
+
+    @Mock FacilityRepository facilityRepository;
+    @Mock BookingRepository  bookingRepository;
+    @Mock SlotHoldService    slotHoldService;
+
+    private AvailabilityService service;
+    private final List<Booking> bookings = new ArrayList<>();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        service = new AvailabilityService(facilityRepository, bookingRepository, slotHoldService);
+
+        when(facilityRepository.findByIdAndIsActiveTrue(FACILITY_ID))
+                .thenReturn(Optional.of(Facility.builder().id(FACILITY_ID).build()));
+        when(slotHoldService.holdsFor(anyLong(), any())).thenReturn(List.of());
+
+        // Same filtering and ordering as the repository queries
+        when(bookingRepository.findBookedSlots(eq(FACILITY_ID), any())).thenAnswer(inv -> {
+            LocalDate date = inv.getArgument(1);
+            return booked().filter(b -> b.getDate().equals(date)).toList();
+        });
+        when(bookingRepository.findBookedSlotsBetween(eq(FACILITY_ID), any(), any())).thenAnswer(inv -> {
+            LocalDate from = inv.getArgument(1);
+            LocalDate to   = inv.getArgument(2);
+            return booked()
+                    .filter(b -> !b.getDate().isBefore(from) && !b.getDate().isAfter(to))
+                    .sorted(Comparator.comparing(Booking::getDate).thenComparing(Booking::getStartTime))
+                    .toList();
+        });
+    }
+
+    // ── Scenarios ─────────────────────────────────────────────────────
+
+    @Test
+    void emptyDay() {
+        assertSameAsLegacy(MONDAY, null, null);
+    }
+
+    @Test
+    void backToBackBookings() {
+        book(MONDAY, "09:00", "10:00", Status.CONFIRMED);
+        book(MONDAY, "10:00", "11:30", Status.PENDING);
+        book(MONDAY, "11:30", "12:00", Status.CONFIRMED);
+        assertSameAsLegacy(MONDAY, null, null);
+    }
+
+    @Test
+    void overlappingBookingsLastOneWins() {
+        book(MONDAY, "09:00", "11:00", Status.PENDING);
+        book(MONDAY, "10:00", "10:30", Status.CONFIRMED);
+        book(MONDAY, "10:15", "12:00", Status.PENDING);
+        assertSameAsLegacy(MONDAY, null, null);
+    }
+
+    @Test
+    void cancelledAndRejectedBookingsLeaveSlotsFree() {
+        book(MONDAY, "09:00", "10:00", Status.CANCELLED);
+        book(MONDAY, "13:00", "14:00", Status.REJECTED);
+        book(MONDAY, "13:30", "14:30", Status.CONFIRMED);
+        assertSameAsLegacy(MONDAY, null, null);
+    }
+
+    @Test
+    void unalignedTimesAndRanges() {
+        book(MONDAY, "09:15", "09:45", Status.CONFIRMED);
+        book(MONDAY, "10:10", "10:20", Status.PENDING);
+        book(MONDAY, "21:50", "23:00", Status.CONFIRMED);
+        assertSameAsLegacy(MONDAY, null, null);
+        assertSameAsLegacy(MONDAY, "08:15", "12:45");
+        assertSameAsLegacy(MONDAY, "07:00", "22:30");
+    }
+
+    @Test
+    void bookingsOutsideTheGrid() {
+        book(MONDAY, "06:00", "08:00", Status.CONFIRMED);
+        book(MONDAY, "22:00", "23:00", Status.CONFIRMED);
+        book(MONDAY.plusDays(1), "09:00", "10:00", Status.CONFIRMED);
+        assertSameAsLegacy(MONDAY, null, null);
+    }
+
+    @Test
+    void randomDays() {
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        for (int round = 0; round < 200; round++) {
+            bookings.clear();
+            for (int d = 0; d < 7; d++) {
+                int count = random.nextInt(8);
+                for (int i = 0; i < count; i++) {
+                    int start = random.nextInt(24 * 4 - 1) * 15;
+                    int end   = Math.min(24 * 60 - 1, start + 15 + random.nextInt(16) * 15);
+                    book(MONDAY.plusDays(d), minutes(start), minutes(end), statuses[random.nextInt(statuses.length)]);
+                }
+            }
+            for (int d = 0; d < 7; d++) assertSameAsLegacy(MONDAY.plusDays(d), null, null);
+            assertSameAsLegacy(MONDAY.plusDays(random.nextInt(7)), "07:15", "20:45");
+        }
+    }
+
+    // ── Comparison ────────────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private void assertSameAsLegacy(LocalDate date, String start, String end) {
+        LocalTime rangeStart = start != null ? LocalTime.parse(start) : LocalTime.of(8, 0);
+        LocalTime rangeEnd   = end   != null ? LocalTime.parse(end)   : LocalTime.of(22, 0);
+
+        List<SlotDto> expected = legacySlots(bookingRepository.findBookedSlots(FACILITY_ID, date),
+                rangeStart, rangeEnd, true);
+        long available = expected.stream().filter(s -> "available".equals(s.getStatus())).count();
+
+        Map<String, Object> actual = service.getSlots(FACILITY_ID, date, start, end);
+        assertThat(actual.get("slots")).isEqualTo(expected);
+        Map<String, Object> summary = (Map<String, Object>) actual.get("summary");
+        assertThat(summary.get("total")).isEqualTo((long) expected.size());
+        assertThat(summary.get("available")).isEqualTo(available);
+        assertThat(summary.get("booked")).isEqualTo(expected.size() - available);
+        assertThat(summary.get("held")).isEqualTo(0L);
+
+        assertWeeklySameAsLegacy(MONDAY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertWeeklySameAsLegacy(LocalDate startDate) {
+        List<Map<String, Object>> days = (List<Map<String, Object>>) service.getWeekly(FACILITY_ID, startDate).get("days");
+        assertThat(days).hasSize(7);
+
+        for (int i = 0; i < 7; i++) {
+            LocalDate day = startDate.plusDays(i);
+            List<SlotDto> slots = legacySlots(bookingRepository.findBookedSlots(FACILITY_ID, day),
+                    LocalTime.of(8, 0), LocalTime.of(22, 0), false);
+            long total     = slots.size();
+            long available = slots.stream().filter(s -> "available".equals(s.getStatus())).count();
+
+            Map<String, Object> expected = new LinkedHashMap<>();
+            expected.put("date",      day.toString());
+            expected.put("dayOfWeek", day.getDayOfWeek().name());
+            expected.put("total",     total);
+            expected.put("available", available);
+            expected.put("booked",    total - available);
+            assertThat(days.get(i)).containsExactlyEntriesOf(expected);
+        }
+    }
+
+    /** The original overlay: every booking against every generated slot, last overlap wins. */
+    private static List<SlotDto> legacySlots(List<Booking> booked, LocalTime start, LocalTime end, boolean withIds) {
+        List<SlotDto> slots = new ArrayList<>();
+        LocalTime cursor = start;
+        while (cursor.plusMinutes(30).compareTo(end) <= 0) {
+            slots.add(SlotDto.builder()
+                    .start(cursor.format(TIME_FMT))
+                    .end(cursor.plusMinutes(30).format(TIME_FMT))
+                    .status("available")
+                    .bookingId(null)
+                    .build());
+            cursor = cursor.plusMinutes(30);
+        }
+        for (Booking b : booked) {
+            for (SlotDto slot : slots) {
+                LocalTime sStart = LocalTime.parse(slot.getStart(), TIME_FMT);
+                LocalTime sEnd   = LocalTime.parse(slot.getEnd(),   TIME_FMT);
+                if (sStart.isBefore(b.getEndTime()) && sEnd.isAfter(b.getStartTime())) {
+                    slot.setStatus(b.getStatus().name().toLowerCase());
+                    if (withIds) slot.setBookingId(b.getId());
+                }
+            }
+        }
+        return slots;
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────
+
+    private void book(LocalDate date, String start, String end, Status status) {
+        bookings.add(Booking.builder()
+                .id(nextId++)
+                .date(date)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .status(status)
+                .build());
+    }
+
+    private java.util.stream.Stream<Booking> booked() {
+        return bookings.stream()
+                .filter(b -> b.getStatus() == Status.CONFIRMED || b.getStatus() == Status.PENDING)
+                .sorted(Comparator.comparing(Booking::getStartTime));
+    }
+
+    private static String minutes(int m) {
+        return String.format("%02d:%02d", m / 60, m % 60);
+    }
+}
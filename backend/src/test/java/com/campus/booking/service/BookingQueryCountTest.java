@@ -0,0 +1,147 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.BookingResponse;
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.repository.BookingRepository;
+import com.campus.booking.repository.BookingSeriesRepository;
+import com.campus.booking.repository.FacilityRepository;
+import com.campus.booking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Guards the booking list against N+1 regressions: mapping a page of
+ * bookings to {@link BookingResponse} must not load users or facilities
+ * row by row.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class BookingQueryCountTest {
+
+    private static final int USERS      = 6;
+    private static final int FACILITIES = 4;
+    private static final int BOOKINGS   = 30;
+
+    @Autowired EntityManager entityManager;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired FacilityRepository facilityRepository;
+    @Autowired UserRepository userRepository;
+    @Autowired BookingSeriesRepository bookingSeriesRepository;
+
+    private BookingService bookingService;
+    private Statistics statistics;
+    private User admin;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = new BookingService(bookingRepository, facilityRepository, userRepository,
+                bookingSeriesRepository, mock(EmailService.class), mock(SlotHoldService.class),
+                mock(WaitlistService.class), mock(BookingStatsService.class));
+
+        admin = userRepository.save(user("admin", Role.ADMIN));
+        List<User> users = new java.util.ArrayList<>();
+        for (int i = 0; i < USERS; i++) users.add(userRepository.save(user("user" + i, Role.STUDENT)));
+        student = users.get(0);
+
+        List<Facility> facilities = new java.util.ArrayList<>();
+        for (int i = 0; i < FACILITIES; i++) {
+            facilities.add(facilityRepository.save(Facility.builder()
+                    .name("Room " + i).location("Block " + i).capacity(20)
+                    .facilityType("room").isActive(true).build()));
+        }
+
+        LocalDate day = LocalDate.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * (i / FACILITIES));
+            bookingRepository.save(Booking.builder()
+                    .user(users.get(i % USERS))
+                    .facility(facilities.get(i % FACILITIES))
+                    .date(day)
+                    .startTime(start)
+                    .endTime(start.plusMinutes(30))
+                    .status(Status.CONFIRMED)
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminListPageIsOneStatement() {
+        List<BookingResponse> page = data(bookingService.getAll(admin, null, null, null, null, null, null, 20));
+
+        assertThat(page).hasSize(20);
+        assertThat(page).allSatisfy(r -> assertThat(r.getFacilityName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filteredListPageIsOneStatement() {
+        List<BookingResponse> page = data(bookingService.getAll(
+                student, null, "confirmed", null, LocalDate.now(), null, null, null));
+
+        assertThat(page).isNotEmpty().allSatisfy(r -> assertThat(r.getUserId()).isEqualTo(student.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void nextPageIsOneStatement() {
+        Map<String, Object> first = bookingService.getAll(admin, null, null, null, null, null, null, 10);
+        statistics.clear();
+
+        List<BookingResponse> second = data(bookingService.getAll(
+                admin, null, null, null, null, null, (String) first.get("nextCursor"), 10));
+
+        assertThat(second).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getByIdIsOneStatement() {
+        Long id = bookingRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        BookingResponse response = bookingService.getById(id, admin);
+
+        assertThat(response.getUserName()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private static List<BookingResponse> data(Map<String, Object> result) {
+        return (List<BookingResponse>) result.get("data");
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder()
+                .name(name).email(name + "@campus.edu").password("-")
+                .role(role).isActive(true).build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.campus.booking.service;
+
+import com.campus.booking.BookingSystemApplication;
+import com.campus.booking.dto.request.BookingRequest;
+import com.campus.booking.entity.Facility;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.repository.FacilityRepository;
+import com.campus.booking.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Booking create throughput under skewed load: per-facility group commit
+ * ({@link BookingSequencer}) against one transaction per request
+ * ({@link BookingService#create}), where every request takes its own row and
+ * exclusion-index locks on the facility.
+ *
+ * Facilities are picked from a Zipf distribution, so with the default
+ * {@code skew} of 1.2 the busiest facility receives roughly a third of all
+ * requests. Each request asks for the next free half-hour of its facility so
+ * both modes measure successful inserts, not conflict rejections.
+ *
+ * Needs PostgreSQL: the application's {@code DB_*} settings are used, so point
+ * them at a scratch database. Each trial creates its own user and facilities
+ * and leaves its rows behind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(32)
+public class BookingSequencerBenchmark {
+
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int SLOTS_PER_DAY = 28;   // 08:00–22:00 in half hours
+
+    @Param({"16"})
+    public int facilities;
+
+    @Param({"1.2"})
+    public double skew;
+
+    private ConfigurableApplicationContext context;
+    private BookingSequencer sequencer;
+    private BookingService   bookingService;
+
+    private User user;
+    private List<Long> facilityIds;
+    private AtomicInteger[] nextSlot;
+    private double[] cumulative;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Arguments, not default properties: application.properties would override those
+        context = new SpringApplicationBuilder(BookingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--app.booking.sequencer.enabled=true",
+                        "--app.mail.enabled=false",
+                        // Both modes share the default pool; callers queue for it instead of failing
+                        "--spring.datasource.hikari.connection-timeout=60000",
+                        "--logging.level.com.campus.booking=INFO",
+                        "--logging.file.name=");
+        sequencer      = context.getBean(BookingSequencer.class);
+        bookingService = context.getBean(BookingService.class);
+
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = context.getBean(UserRepository.class).save(User.builder()
+                .name("Benchmark " + run).email("bench-" + run + "@campus.edu").password("-")
+                .role(Role.STUDENT).isActive(true).build());
+
+        FacilityRepository facilityRepository = context.getBean(FacilityRepository.class);
+        facilityIds = IntStream.range(0, facilities)
+                .mapToObj(i -> facilityRepository.save(Facility.builder()
+                        .name("Benchmark " + run + " #" + i).location("Benchmark").capacity(100)
+                        .facilityType("room").isActive(true).build()).getId())
+                .toList();
+
+        nextSlot = new AtomicInteger[facilities];
+        for (int i = 0; i < facilities; i++) nextSlot[i] = new AtomicInteger();
+
+        // Zipf CDF over facility ranks
+        cumulative = new double[facilities];
+        double sum = 0;
+        for (int i = 0; i < facilities; i++) cumulative[i] = sum += 1 / Math.pow(i + 1, skew);
+        for (int i = 0; i < facilities; i++) cumulative[i] /= sum;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object groupCommit() {
+        return sequencer.create(nextRequest(), user);
+    }
+
+    @Benchmark
+    public Object lockPerRequest() {
+        return bookingService.create(nextRequest(), user);
+    }
+
+    private BookingRequest nextRequest() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        int f = 0;
+        while (f < facilities - 1 && cumulative[f] < r) f++;
+
+        int slot = nextSlot[f].getAndIncrement();
+        LocalTime start = LocalTime.of(8, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY));
+
+        BookingRequest req = new BookingRequest();
+        req.setFacilityId(facilityIds.get(f));
+        req.setDate(LocalDate.now().plusDays(1 + slot / SLOTS_PER_DAY));
+        req.setStartTime(start.format(TIME_FMT));
+        req.setEndTime(start.plusMinutes(30).format(TIME_FMT));
+        req.setAttendees(1);
+        return req;
+    }
+}
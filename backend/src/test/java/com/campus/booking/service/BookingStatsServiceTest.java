@@ -0,0 +1,195 @@
+package com.campus.booking.service;
+
+import com.campus.booking.entity.Booking;
+import com.campus.booking.entity.Booking.Status;
+import com.campus.booking.entity.BookingStats;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.repository.BookingStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+/**
+ * The incrementally maintained counters must always equal a recount of the
+ * bookings, computed the way {@code rebuildFromBookings} does. The booking
+ * changes are recorded exactly as BookingService records them.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingStatsServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    @Mock BookingStatsRepository repository;
+
+    private BookingStatsService service;
+    private final Map<Long, long[]> rows = new TreeMap<>();
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookingStatsService(repository);
+        for (long id = 1; id <= 3; id++) users.add(User.builder().id(id).role(Role.STUDENT).build());
+
+        // Same upsert and sums as the native queries
+        when(repository.findAsOf()).thenReturn(Optional.of(TODAY));
+        when(repository.increment(anyLong(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong())).thenAnswer(inv -> {
+            long[] row = rows.computeIfAbsent(inv.getArgument(0), k -> new long[5]);
+            for (int i = 0; i < 5; i++) row[i] += inv.<Long>getArgument(i + 1);
+            return 1;
+        });
+        when(repository.sumGlobal()).thenAnswer(inv -> {
+            Object[] sum = {0L, 0L, 0L, 0L, 0L};
+            rows.forEach((key, row) -> {
+                if (key < 0) for (int i = 0; i < 5; i++) sum[i] = (Long) sum[i] + row[i];
+            });
+            return List.<Object[]>of(sum);
+        });
+        when(repository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(rows.get(inv.<Long>getArgument(0)))
+                .map(r -> BookingStats.builder().total(r[0]).confirmed(r[1]).pending(r[2])
+                        .cancelled(r[3]).upcoming(r[4]).build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createKeepsCountersEqualToRecount() {
+        create(users.get(0), Status.CONFIRMED, TODAY.plusDays(1));
+        create(users.get(0), Status.PENDING,   TODAY.plusDays(2));
+        create(users.get(1), Status.CONFIRMED, TODAY);
+        create(users.get(2), Status.CONFIRMED, TODAY.minusDays(1));
+
+        assertMatchesRecount();
+    }
+
+    @Test
+    void cancelKeepsCountersEqualToRecount() {
+        Booking upcoming = create(users.get(0), Status.CONFIRMED, TODAY.plusDays(3));
+        Booking pending  = create(users.get(1), Status.PENDING,   TODAY.plusDays(1));
+        Booking past     = create(users.get(2), Status.CONFIRMED, TODAY.minusDays(2));
+
+        cancel(upcoming);
+        cancel(pending);
+        cancel(past);
+
+        assertMatchesRecount();
+        assertThat(service.get(admin())).containsEntry("cancelled", 3L).containsEntry("upcoming", 0L);
+    }
+
+    @Test
+    void bulkStatusKeepsCountersEqualToRecount() {
+        List<Booking> batch = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            batch.add(create(users.get(i % 3), Status.PENDING, TODAY.plusDays(i - 3)));
+        }
+
+        bulkStatus(batch.subList(0, 6), Status.CONFIRMED);
+        bulkStatus(batch.subList(4, 9), Status.REJECTED);
+
+        assertMatchesRecount();
+    }
+
+    @Test
+    void deferredChangesAreAppliedOnceBeforeCommit() {
+        Booking a = create(users.get(0), Status.PENDING, TODAY.plusDays(1));
+        Booking b = create(users.get(1), Status.PENDING, TODAY.plusDays(2));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.deferToCommit();
+        bulkStatus(List.of(a, b), Status.CONFIRMED);
+        cancel(a);
+        assertThat(service.get(admin())).containsEntry("confirmed", 0L);
+
+        for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+            s.beforeCommit(false);
+        }
+        assertMatchesRecount();
+    }
+
+    @Test
+    void writersTakeTheFenceBeforeReadingAsOf() {
+        create(users.get(0), Status.CONFIRMED, TODAY);
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).lockShared();
+        order.verify(repository).findAsOf();
+    }
+
+    // ── Booking changes, recorded the way BookingService records them ──
+
+    private Booking create(User user, Status status, LocalDate date) {
+        Booking booking = Booking.builder().id(nextId++).user(user).status(status).date(date).build();
+        bookings.add(booking);
+        service.record(BookingStatsService.Change.created(booking));
+        return booking;
+    }
+
+    private void cancel(Booking booking) {
+        Status oldStatus = booking.getStatus();
+        booking.setStatus(Status.CANCELLED);
+        service.record(BookingStatsService.Change.of(booking, oldStatus, booking.getDate()));
+    }
+
+    private void bulkStatus(List<Booking> batch, Status target) {
+        List<BookingStatsService.Change> changes = new ArrayList<>();
+        for (Booking b : batch) {
+            changes.add(new BookingStatsService.Change(
+                    b.getUser().getId(), b.getStatus(), b.getDate(), target, b.getDate()));
+            b.setStatus(target);
+        }
+        service.record(changes);
+    }
+
+    // ── Recount ───────────────────────────────────────────────────────
+
+    private void assertMatchesRecount() {
+        assertThat(service.get(admin())).isEqualTo(recount(bookings));
+        for (User user : users) {
+            List<Booking> own = bookings.stream().filter(b -> b.getUser() == user).toList();
+            assertThat(service.get(user)).as("user %d", user.getId()).isEqualTo(recount(own));
+        }
+    }
+
+    private static Map<String, Object> recount(List<Booking> bookings) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total",     (long) bookings.size());
+        stats.put("confirmed", count(bookings, Status.CONFIRMED));
+        stats.put("pending",   count(bookings, Status.PENDING));
+        stats.put("cancelled", count(bookings, Status.CANCELLED));
+        stats.put("upcoming",  bookings.stream()
+                .filter(b -> b.getStatus() == Status.CONFIRMED && !b.getDate().isBefore(TODAY)).count());
+        return stats;
+    }
+
+    private static long count(List<Booking> bookings, Status status) {
+        return bookings.stream().filter(b -> b.getStatus() == status).count();
+    }
+
+    private static User admin() {
+        return User.builder().id(99L).role(Role.ADMIN).build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.campus.booking.service;
+
+import com.campus.booking.dto.response.AuthResponse;
+import com.campus.booking.entity.RefreshToken;
+import com.campus.booking.entity.User;
+import com.campus.booking.entity.User.Role;
+import com.campus.booking.repository.RefreshTokenRepository;
+import com.campus.booking.repository.UserRepository;
+import com.campus.booking.security.JwtTokenProvider;
+import com.campus.booking.security.JwtTokenProvider.AccessToken;
+import com.campus.booking.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Refresh-token rotation and theft detection: a revoked token, or a used one
+ * presented after the reuse grace window, must revoke the whole family and
+ * its live access tokens; a refresh race inside the window must not.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RefreshTokenServiceTest {
+
+    private static final String RAW_TOKEN = "presented-refresh-token";
+    private static final String FAMILY    = "family-1";
+    private static final long   USER_ID   = 7L;
+    private static final Duration GRACE   = Duration.ofSeconds(10);
+
+    @Mock RefreshTokenRepository refreshTokenRepository;
+    @Mock UserRepository         userRepository;
+    @Mock JwtTokenProvider       jwtTokenProvider;
+    @Mock TokenRevocationList    revocationList;
+
+    private RefreshTokenService service;
+    private RefreshToken current;
+    private RefreshToken sibling;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(refreshTokenRepository, userRepository, jwtTokenProvider,
+                revocationList, Duration.ofDays(7).toMillis(), GRACE);
+
+        current = token(1L, "jti-current");
+        sibling = token(2L, "jti-sibling");
+
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markUsed(eq(1L), any())).thenReturn(1);
+        when(refreshTokenRepository.findLiveInFamily(eq(FAMILY), any())).thenReturn(List.of(current, sibling));
+        when(userRepository.findByIdAndIsActiveTrue(USER_ID)).thenReturn(Optional.of(User.builder()
+                .id(USER_ID).name("Student").email("student@campus.edu").role(Role.STUDENT).isActive(true).build()));
+        when(jwtTokenProvider.generateToken(anyLong(), anyString(), anyInt()))
+                .thenReturn(new AccessToken("access-token", "jti-new", Instant.now().plusSeconds(900)));
+        when(jwtTokenProvider.getExpirationMs()).thenReturn(900_000L);
+    }
+
+    // ── Rotation ──────────────────────────────────────────────────────
+
+    @Test
+    void unusedTokenIsExchangedForAPairInTheSameFamily() {
+        AuthResponse response = service.rotate(RAW_TOKEN);
+
+        assertThat(response.getRefreshToken()).isNotBlank().isNotEqualTo(RAW_TOKEN);
+        verify(refreshTokenRepository).markUsed(eq(1L), any());
+        assertThat(savedToken().getFamily()).isEqualTo(FAMILY);
+        assertFamilyKept();
+    }
+
+    @Test
+    void expiredTokenIsRejectedWithoutRevokingTheFamily() {
+        current.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyKept();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyKept();
+    }
+
+    @Test
+    void deactivatedUserLosesTheSession() {
+        when(userRepository.findByIdAndIsActiveTrue(USER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyRevoked();
+    }
+
+    // ── Theft detection ───────────────────────────────────────────────
+
+    @Test
+    void revokedTokenRevokesTheFamily() {
+        current.setRevoked(true);
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyRevoked();
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+    }
+
+    @Test
+    void reuseWithinGraceIssuesAPair() {
+        current.setUsedAt(LocalDateTime.now().minusSeconds(2));
+
+        AuthResponse response = service.rotate(RAW_TOKEN);
+
+        assertThat(response.getRefreshToken()).isNotBlank();
+        assertThat(savedToken().getFamily()).isEqualTo(FAMILY);
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+        assertFamilyKept();
+    }
+
+    @Test
+    void reuseAfterGraceRevokesTheFamily() {
+        current.setUsedAt(LocalDateTime.now().minus(GRACE).minusSeconds(1));
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyRevoked();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void losingTheMarkUsedRaceIsARefreshRace() {
+        when(refreshTokenRepository.markUsed(eq(1L), any())).thenReturn(0);
+        when(refreshTokenRepository.isRevoked(1L)).thenReturn(false);
+
+        AuthResponse response = service.rotate(RAW_TOKEN);
+
+        assertThat(response.getRefreshToken()).isNotBlank();
+        assertThat(savedToken().getFamily()).isEqualTo(FAMILY);
+        assertFamilyKept();
+    }
+
+    @Test
+    void losingTheMarkUsedRaceToARevocationRevokesTheFamily() {
+        when(refreshTokenRepository.markUsed(eq(1L), any())).thenReturn(0);
+        when(refreshTokenRepository.isRevoked(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.rotate(RAW_TOKEN)).isInstanceOf(BadCredentialsException.class);
+        assertFamilyRevoked();
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private static RefreshToken token(Long id, String accessJti) {
+        return RefreshToken.builder()
+                .id(id)
+                .tokenHash("hash-" + id)
+                .userId(USER_ID)
+                .family(FAMILY)
+                .accessJti(accessJti)
+                .accessExpiresAt(LocalDateTime.now().plusMinutes(10))
+                .expiresAt(LocalDateTime.now().plusDays(7))
+                .build();
+    }
+
+    private RefreshToken savedToken() {
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    /** The family's refresh tokens and every access token it issued that is still live are revoked. */
+    private void assertFamilyRevoked() {
+        verify(refreshTokenRepository).revokeFamily(FAMILY);
+        verify(revocationList).revoke(eq("jti-current"), any());
+        verify(revocationList).revoke(eq("jti-sibling"), any());
+    }
+
+    private void assertFamilyKept() {
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+        verify(revocationList, never()).revoke(anyString(), any());
+    }
+}
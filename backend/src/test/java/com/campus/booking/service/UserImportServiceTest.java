@@ -0,0 +1,105 @@
+package com.campus.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written RFC 4180 reader behind the CSV user import: quoted fields
+ * may hold commas, doubled quotes and line breaks, and a record ends only at
+ * an unquoted line break.
+ */
+class UserImportServiceTest {
+
+    // ── Plain records ─────────────────────────────────────────────────
+
+    @Test
+    void splitsUnquotedFieldsOnCommas() throws IOException {
+        assertThat(records("name,email,password\nAda,ada@campus.edu,secret1\n")).containsExactly(
+                List.of("name", "email", "password"),
+                List.of("Ada", "ada@campus.edu", "secret1"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(records("Ada,,secret1,\n")).containsExactly(List.of("Ada", "", "secret1", ""));
+    }
+
+    @Test
+    void acceptsCrlfAndAMissingFinalLineBreak() throws IOException {
+        assertThat(records("a,b\r\nc,d")).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        Reader reader = reader("a,b\n");
+        UserImportService.readRecord(reader);
+
+        assertThat(UserImportService.readRecord(reader)).isNull();
+        assertThat(UserImportService.readRecord(reader(""))).isNull();
+    }
+
+    // ── Quoted fields ─────────────────────────────────────────────────
+
+    @Test
+    void quotedCommaStaysInTheField() throws IOException {
+        assertThat(records("\"Lovelace, Ada\",ada@campus.edu\n"))
+                .containsExactly(List.of("Lovelace, Ada", "ada@campus.edu"));
+    }
+
+    @Test
+    void doubledQuoteIsALiteralQuote() throws IOException {
+        assertThat(records("\"Ada \"\"The Countess\"\" Lovelace\",\"\"\"\"\n"))
+                .containsExactly(List.of("Ada \"The Countess\" Lovelace", "\""));
+    }
+
+    @Test
+    void quotedEmptyFieldIsEmpty() throws IOException {
+        assertThat(records("\"\",x\n")).containsExactly(List.of("", "x"));
+    }
+
+    @Test
+    void embeddedLineBreakDoesNotEndTheRecord() throws IOException {
+        assertThat(records("\"Room 1\nNorth wing\",b\r\nc,d\n")).containsExactly(
+                List.of("Room 1\nNorth wing", "b"),
+                List.of("c", "d"));
+    }
+
+    @Test
+    void embeddedCrlfIsKept() throws IOException {
+        assertThat(records("\"line one\r\nline two\",x\n"))
+                .containsExactly(List.of("line one\r\nline two", "x"));
+    }
+
+    @Test
+    void quotedFieldMayEndTheInput() throws IOException {
+        assertThat(records("a,\"b, \"\"c\"\"\"")).containsExactly(List.of("a", "b, \"c\""));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertThat(records("5'11\" tall,x\n")).containsExactly(List.of("5'11\" tall", "x"));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────
+
+    private static Reader reader(String csv) {
+        return new BufferedReader(new StringReader(csv));
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        Reader reader = reader(csv);
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record; (record = UserImportService.readRecord(reader)) != null; ) {
+            records.add(record);
+        }
+        return records;
+    }
+}
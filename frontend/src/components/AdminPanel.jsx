@@ -90,6 +90,7 @@ const FacilityForm = ({ initial, onSave, onCancel }) => {
 const AdminPanel = () => {
   const [tab,        setTab]        = useState('bookings');
   const [bookings,   setBookings]   = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [facilities, setFacilities] = useState([]);
   const [loading,    setLoading]    = useState(false);
   const [editFacility, setEditFacility] = useState(null);
@@ -104,10 +105,19 @@ const AdminPanel = () => {
     try {
       const { data } = await bookingApi.getAll();
       setBookings(data.data);
+      setNextCursor(data.nextCursor);
     } catch { /* ignore */ }
     setLoading(false);
   };
 
+  const loadMoreBookings = async () => {
+    try {
+      const { data } = await bookingApi.getAll({ cursor: nextCursor });
+      setBookings(prev => [...prev, ...data.data]);
+      setNextCursor(data.nextCursor);
+    } catch { /* ignore */ }
+  };
+
   const loadFacilities = async () => {
     setLoading(true);
     try {
@@ -211,6 +221,11 @@ const AdminPanel = () => {
               )}
               <h3 style={{ marginBottom: '0.75rem' }}>All Bookings</h3>
               <BookingHistory bookings={bookings} onRefresh={loadBookings} showUser={true} />
+              {nextCursor && (
+                <div style={{ textAlign: 'center', marginTop: '1rem' }}>
+                  <button className="btn btn-secondary btn-sm" onClick={loadMoreBookings}>Load more</button>
+                </div>
+              )}
             </div>
           )}
 
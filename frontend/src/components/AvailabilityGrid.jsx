@@ -5,6 +5,7 @@ const STATUS_MAP = {
   available: { cssClass: 'slot--available', label: 'Free' },
   confirmed: { cssClass: 'slot--booked',    label: 'Booked' },
   pending:   { cssClass: 'slot--pending',   label: 'Pending' },
+  held:      { cssClass: 'slot--pending',   label: 'Held' },
 };
 
 const AvailabilityGrid = ({ facilityId, date, onSelectSlot }) => {
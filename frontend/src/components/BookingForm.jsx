@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useRef, useState } from 'react';
 import { bookingApi } from '../services/api';
 import AvailabilityGrid from './AvailabilityGrid';
 
@@ -15,6 +15,9 @@ const BookingForm = ({ facility, onSuccess }) => {
   const [loading,   setLoading]   = useState(false);
   const [error,     setError]     = useState('');
   const [success,   setSuccess]   = useState('');
+  // One key per booking attempt: resubmits after a network failure replay instead of
+  // double-booking; a new key is drawn once the booking is made
+  const idempotencyKey = useRef(crypto.randomUUID());
 
   const handleSlotSelect = (s) => {
     setSlot(s);
@@ -41,7 +44,8 @@ const BookingForm = ({ facility, onSuccess }) => {
         facility_id: facility.id,
         date, start_time: startTime, end_time: endTime,
         purpose, attendees: parseInt(attendees),
-      });
+      }, idempotencyKey.current);
+      idempotencyKey.current = crypto.randomUUID();
       setSuccess(`Booking ${facility.requires_approval ? 'submitted for approval' : 'confirmed'}!`);
       onSuccess && onSuccess();
     } catch (err) {
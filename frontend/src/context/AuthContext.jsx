@@ -2,8 +2,9 @@
  * Auth Context
  * =============
  * Provides authentication state + actions to the entire React tree.
- * Stores the JWT in localStorage and automatically attaches it to
- * all axios requests via the api.js default headers.
+ * Stores the access and refresh tokens in localStorage and attaches the
+ * access token to all axios requests via the api.js default headers;
+ * api.js renews it with the refresh token when it expires.
  */
 
 import React, { createContext, useContext, useState, useEffect, useCallback } from 'react';
@@ -24,6 +25,7 @@ export const AuthProvider = ({ children }) => {
     } else {
       delete api.defaults.headers.common['Authorization'];
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
     }
   }, [token]);
 
@@ -52,6 +54,7 @@ export const AuthProvider = ({ children }) => {
     // Set header synchronously before navigate() triggers child component effects
     api.defaults.headers.common['Authorization'] = `Bearer ${data.data.token}`;
     localStorage.setItem('token', data.data.token);
+    localStorage.setItem('refreshToken', data.data.refresh_token);
     setToken(data.data.token);
     setUser(data.data.user);
     return data.data.user;
@@ -62,14 +65,18 @@ export const AuthProvider = ({ children }) => {
     // Set header synchronously before navigate() triggers child component effects
     api.defaults.headers.common['Authorization'] = `Bearer ${data.data.token}`;
     localStorage.setItem('token', data.data.token);
+    localStorage.setItem('refreshToken', data.data.refresh_token);
     setToken(data.data.token);
     setUser(data.data.user);
     return data.data.user;
   }, []);
 
   const logout = useCallback(() => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) api.post('/auth/logout', { refresh_token: refreshToken }).catch(() => {});
     delete api.defaults.headers.common['Authorization'];
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     setToken(null);
     setUser(null);
   }, []);
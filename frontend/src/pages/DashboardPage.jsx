@@ -22,9 +22,12 @@ const DashboardPage = () => {
   const loadData = async () => {
     setLoading(true); setError('');
     try {
-      const { data } = await bookingApi.getAll();
+      const [{ data }, { data: statsData }] = await Promise.all([
+        bookingApi.getAll(),
+        bookingApi.getStats(),
+      ]);
       setBookings(data.data);
-      setStats(data.stats);
+      setStats(statsData.stats);
     } catch (err) {
       setError(err.displayMessage || 'Failed to load bookings.');
     } finally {
@@ -23,10 +23,57 @@ if (_storedToken) {
   api.defaults.headers.common['Authorization'] = `Bearer ${_storedToken}`;
 }
 
-// ── Response interceptor – normalise errors ───────────────────────────────
+// ── Access token refresh ──────────────────────────────────────────────────
+// Access tokens are short-lived. On a 401 the stored refresh token is
+// exchanged once (shared by concurrent requests) and the request retried.
+// Refresh tokens are single use, so tabs take turns through a Web Lock: a tab
+// that waited picks up the pair the other tab stored instead of replaying the
+// spent token.
+let _refreshing = null;
+
+const exchangeRefreshToken = (failedToken) => {
+  const stored = localStorage.getItem('token');
+  if (stored && stored !== failedToken) {
+    api.defaults.headers.common['Authorization'] = `Bearer ${stored}`;
+    return Promise.resolve(stored);
+  }
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) return Promise.reject(new Error('No refresh token'));
+  return axios.post(`${api.defaults.baseURL}/auth/refresh`, { refresh_token: refreshToken })
+    .then(({ data }) => {
+      localStorage.setItem('token', data.data.token);
+      localStorage.setItem('refreshToken', data.data.refresh_token);
+      api.defaults.headers.common['Authorization'] = `Bearer ${data.data.token}`;
+      return data.data.token;
+    });
+};
+
+const refreshAccessToken = (failedToken) => {
+  if (!_refreshing) {
+    const run = () => exchangeRefreshToken(failedToken);
+    _refreshing = (navigator.locks ? navigator.locks.request('auth-refresh', run) : run())
+      .finally(() => { _refreshing = null; });
+  }
+  return _refreshing;
+};
+
+// ── Response interceptor – refresh once, then normalise errors ────────────
 api.interceptors.response.use(
   (res) => res,
-  (err) => {
+  async (err) => {
+    const original = err.config;
+    if (err.response?.status === 401 && original && !original._retried
+        && !/^\/auth\/(login|register|refresh|logout)/.test(original.url || '')) {
+      original._retried = true;
+      try {
+        const failed = String(original.headers?.['Authorization'] || '').replace(/^Bearer /, '');
+        const token = await refreshAccessToken(failed);
+        original.headers['Authorization'] = `Bearer ${token}`;
+        return api(original);
+      } catch {
+        // Fall through with the original 401
+      }
+    }
     const message =
       err.response?.data?.message ||
       err.response?.data?.errors?.[0]?.msg ||
@@ -41,6 +88,7 @@ api.interceptors.response.use(
 export const facilityApi = {
   getAll:   (params) => api.get('/facilities', { params }),
   getById:  (id)     => api.get(`/facilities/${id}`),
+  findFree: (params) => api.get('/facilities/available', { params }),
   create:   (data)   => api.post('/facilities', data),
   update:   (id, d)  => api.put(`/facilities/${id}`, d),
   remove:   (id)     => api.delete(`/facilities/${id}`),
@@ -49,25 +97,55 @@ export const facilityApi = {
 // ── Booking helpers ───────────────────────────────────────────────────────
 export const bookingApi = {
   getAll:   (params) => api.get('/bookings', { params }),
+  getStats: ()       => api.get('/bookings/stats'),
+  export:   (params) => api.get('/bookings/export', { params, responseType: 'blob' }),
   getById:  (id)     => api.get(`/bookings/${id}`),
-  create:   (data)   => api.post('/bookings', data),
+  create:   (data, idempotencyKey) => api.post('/bookings', data,
+    idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : undefined),
+  createSeries: (data) => api.post('/bookings/series', data),
   update:   (id, d)  => api.put(`/bookings/${id}`, d),
   cancel:   (id)     => api.delete(`/bookings/${id}`),
+  bulkStatus: (data) => api.post('/bookings/bulk-status', data),
 };
 
 // ── Availability helpers ──────────────────────────────────────────────────
 export const availabilityApi = {
   getSlots:  (params) => api.get('/availability', { params }),
   getWeekly: (params) => api.get('/availability/week', { params }),
+  getRange:  (params) => api.get('/availability/range', { params }),
+  getMatrix: (params) => api.get('/availability/matrix', { params }),
+};
+
+// ── Slot hold helpers ─────────────────────────────────────────────────────
+export const holdApi = {
+  place:    (data)   => api.post('/holds', data),
+  release:  (id)     => api.delete(`/holds/${id}`),
+};
+
+export const waitlistApi = {
+  join:     (data)   => api.post('/waitlist', data),
+  getMine:  ()       => api.get('/waitlist'),
+  leave:    (id)     => api.delete(`/waitlist/${id}`),
 };
 
 // ── Auth helpers ──────────────────────────────────────────────────────────
 export const authApi = {
   register:    (data) => api.post('/auth/register', data),
   login:       (data) => api.post('/auth/login', data),
+  logout:      (refreshToken) => api.post('/auth/logout', { refresh_token: refreshToken }),
   getProfile:  ()     => api.get('/auth/me'),
   updateProfile:(data)=> api.put('/auth/profile', data),
-  getUsers:    ()     => api.get('/auth/users'),
+  getUsers:    (params) => api.get('/auth/users', { params }),
+  updateUserAccess: (id, data) => api.patch(`/auth/users/${id}`, data),
+  importUsers: (file) => {
+    const form = new FormData();
+    form.append('file', file);
+    // Hashing thousands of passwords takes minutes; no client timeout
+    return api.post('/auth/users/import', form, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+      timeout: 0,
+    });
+  },
 };
 
 export default api;